@@ -0,0 +1,113 @@
+package name.codemax.mininject.benchmarks;
+
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.container.impl.ChildBeanContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bean lookups in {@link BeanContainerImpl}: direct and bound names, class-based lookups and lists, in
+ * regular and frozen container, and creation of child container overriding a bean.
+ *
+ * @author Maksim Osipov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainerBenchmark {
+    public interface Service {
+    }
+
+    public static class ServiceImpl implements Service {
+    }
+
+    public static class PrimaryServiceImpl implements Service {
+    }
+
+    public interface Plugin {
+    }
+
+    public static class FirstPlugin implements Plugin {
+    }
+
+    public static class SecondPlugin implements Plugin {
+    }
+
+    public static class ThirdPlugin implements Plugin {
+    }
+
+    @Param({"false", "true"})
+    private boolean frozen;
+
+    private BeanContainerImpl container;
+
+    @Setup
+    public void setUp() {
+        container = new BeanContainerImpl();
+        container.register(new ServiceImpl());
+        container.registerLazy(PrimaryServiceImpl.class, ctx -> new PrimaryServiceImpl());
+        container.bind(Service.class, ServiceImpl.class);
+        container.bind(Service.class, PrimaryServiceImpl.class, true);
+        container.register(new FirstPlugin());
+        container.registerLazy(SecondPlugin.class, ctx -> new SecondPlugin());
+        container.registerFactory(ThirdPlugin.class, ctx -> new ThirdPlugin());
+        container.bind(Plugin.class, FirstPlugin.class);
+        container.bind(Plugin.class, SecondPlugin.class);
+        container.bind(Plugin.class, ThirdPlugin.class);
+        if (frozen) {
+            container.freeze();
+        }
+    }
+
+    @Benchmark
+    public Object getDirectName() {
+        return container.get("name.codemax.mininject.benchmarks.ContainerBenchmark$ServiceImpl");
+    }
+
+    @Benchmark
+    public Object getBoundName() {
+        return container.get("name.codemax.mininject.benchmarks.ContainerBenchmark$Service");
+    }
+
+    @Benchmark
+    public Object getDirectClass() {
+        return container.get(ServiceImpl.class);
+    }
+
+    @Benchmark
+    public Object getBoundClass() {
+        return container.get(Service.class);
+    }
+
+    @Benchmark
+    public List<Plugin> list() {
+        return container.list(Plugin.class);
+    }
+
+    @Benchmark
+    public List<FirstPlugin> listDirect() {
+        return container.list(FirstPlugin.class);
+    }
+
+    @Benchmark
+    public Object createChildAndGet() {
+        ChildBeanContainer child = container.createChild();
+        child.register(Service.class, new ServiceImpl());
+        return child.get(Service.class);
+    }
+}
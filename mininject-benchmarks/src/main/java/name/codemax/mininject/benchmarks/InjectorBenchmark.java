@@ -0,0 +1,148 @@
+package name.codemax.mininject.benchmarks;
+
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.injector.AccessStrategy;
+import name.codemax.mininject.injector.BeanInjector;
+import name.codemax.mininject.injector.DefaultConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creation of prototype beans by factories registered with {@link BeanInjector}, and {@link Provider#get()}
+ * of providers injected by {@code BeanProviderResolver}. Parametrized by {@link AccessStrategy}.
+ *
+ * @author Maksim Osipov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectorBenchmark {
+    public interface Repository {
+    }
+
+    @Singleton
+    public static class RepositoryImpl implements Repository {
+    }
+
+    public interface Handler {
+    }
+
+    public static class FirstHandler implements Handler {
+    }
+
+    public static class SecondHandler implements Handler {
+    }
+
+    public static class Dependency {
+    }
+
+    public static class PlainPrototype {
+    }
+
+    public static class ConstructorPrototype {
+        private final Repository repository;
+        private final Dependency dependency;
+
+        @Inject
+        public ConstructorPrototype(Repository repository, @Named("dependency") Dependency dependency) {
+            this.repository = repository;
+            this.dependency = dependency;
+        }
+    }
+
+    public static class MemberPrototype {
+        @Inject
+        private Repository repository;
+        @Inject
+        private List<Handler> handlers;
+        private Dependency dependency;
+
+        @Inject
+        public void setDependency(Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public static class ProviderHolder {
+        @Inject
+        private Provider<PlainPrototype> prototypeProvider;
+        @Inject
+        private Provider<Repository> singletonProvider;
+    }
+
+    @Param({"METHOD_HANDLES", "REFLECTION"})
+    private AccessStrategy accessStrategy;
+
+    private BeanContainerImpl container;
+    private Provider<PlainPrototype> prototypeProvider;
+    private Provider<Repository> singletonProvider;
+
+    @Setup
+    public void setUp() {
+        container = new BeanContainerImpl();
+        BeanInjector injector = new BeanInjector(container, accessStrategy);
+        new DefaultConfiguration().configure(injector);
+        injector.bind(Repository.class, RepositoryImpl.class);
+        injector.bind(Handler.class, FirstHandler.class);
+        injector.bind(Handler.class, SecondHandler.class);
+        injector.bind(Dependency.class);
+        injector.bind("dependency", Dependency.class);
+        injector.bind(PlainPrototype.class);
+        injector.bind(ConstructorPrototype.class);
+        injector.bind(MemberPrototype.class);
+        injector.bind(ProviderHolder.class);
+        injector.perform();
+        ProviderHolder holder = container.get(ProviderHolder.class);
+        prototypeProvider = holder.prototypeProvider;
+        singletonProvider = holder.singletonProvider;
+    }
+
+    @Benchmark
+    public Object createPlainPrototype() {
+        return container.get(PlainPrototype.class);
+    }
+
+    @Benchmark
+    public Object createConstructorPrototype() {
+        return container.get(ConstructorPrototype.class);
+    }
+
+    @Benchmark
+    public Object createMemberPrototype() {
+        return container.get(MemberPrototype.class);
+    }
+
+    @Benchmark
+    public Object newPlainPrototype() {
+        return new PlainPrototype();
+    }
+
+    @Benchmark
+    public Object providerPrototype() {
+        return prototypeProvider.get();
+    }
+
+    @Benchmark
+    public Object providerSingleton() {
+        return singletonProvider.get();
+    }
+}
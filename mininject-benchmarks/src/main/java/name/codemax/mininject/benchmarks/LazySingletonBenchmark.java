@@ -0,0 +1,58 @@
+package name.codemax.mininject.benchmarks;
+
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures first access to lazy singleton when several threads request it at the same time. Every iteration uses
+ * fresh container, each thread performs a single lookup, so all threads race for singleton materialization.
+ * Factory cost is emulated by {@link Blackhole#consumeCPU(long)}.
+ *
+ * @author Maksim Osipov
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200, batchSize = 1)
+@Measurement(iterations = 1000, batchSize = 1)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazySingletonBenchmark {
+    public static class ExpensiveSingleton {
+    }
+
+    @Param({"0", "10000"})
+    private long factoryTokens;
+
+    private BeanContainerImpl container;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        container = new BeanContainerImpl();
+        long tokens = factoryTokens;
+        container.registerLazy(ExpensiveSingleton.class, ctx -> {
+            Blackhole.consumeCPU(tokens);
+            return new ExpensiveSingleton();
+        });
+    }
+
+    @Benchmark
+    public Object firstAccess() {
+        return container.get(ExpensiveSingleton.class);
+    }
+}
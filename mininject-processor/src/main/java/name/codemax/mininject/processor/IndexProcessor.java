@@ -0,0 +1,250 @@
+package name.codemax.mininject.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes index of bean classes to {@value #INDEX_FILE}, which is read at runtime instead of classpath scanning.
+ * Bean classes are concrete top-level or static nested classes annotated with {@code javax.inject.Singleton} or
+ * {@code javax.inject.Named}, or having {@code javax.inject.Inject} annotated members. Each line of index contains
+ * tab separated binary name of bean class, value of its {@code javax.inject.Named} annotation (empty if absent) and
+ * space separated binary names of all its superclasses and interfaces except {@link Object} and types of {@code java}
+ * and {@code javax} packages, e.g. {@link java.io.Serializable}, which would make such names ambiguous.
+ * <p>
+ * Incremental compilation processes only changed sources, so index written before is merged with new entries. Entries
+ * of classes processed by current compilation are replaced, entries of classes which no longer exist are dropped.
+ *
+ * @author Maksim Osipov
+ */
+public class IndexProcessor extends AbstractProcessor {
+    static final String INDEX_FILE = "META-INF/mininject/beans.idx";
+
+    private final Map<String, String> entries = new LinkedHashMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private final Set<String> processedTypes = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotations = new HashSet<>();
+        annotations.add(InjectProcessor.INJECT);
+        annotations.add(InjectProcessor.SINGLETON);
+        annotations.add(InjectProcessor.NAMED);
+        return annotations;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collectTypes(element, processedTypes);
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement beanType = getBeanType(element, annotation);
+                if (null != beanType && isIndexable(beanType)) {
+                    String beanName = elements.getBinaryName(beanType).toString();
+                    if (!entries.containsKey(beanName)) {
+                        entries.put(beanName, createEntry(beanName, beanType));
+                        originatingElements.add(beanType);
+                    }
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collectTypes(Element element, Set<String> names) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        names.add(elements.getBinaryName((TypeElement) element).toString());
+        for (Element enclosed : element.getEnclosedElements()) {
+            collectTypes(enclosed, names);
+        }
+    }
+
+    private static TypeElement getBeanType(Element element, TypeElement annotation) {
+        if (element instanceof TypeElement) {
+            return (TypeElement) element;
+        }
+        if (annotation.getQualifiedName().contentEquals(InjectProcessor.INJECT)) {
+            Element enclosing = element.getEnclosingElement();
+            return enclosing instanceof TypeElement ? (TypeElement) enclosing : null;
+        }
+        return null;
+    }
+
+    private static boolean isIndexable(TypeElement beanType) {
+        if (ElementKind.CLASS != beanType.getKind() || beanType.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (Element element = beanType; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement type = (TypeElement) element;
+            if (NestingKind.LOCAL == type.getNestingKind() || NestingKind.ANONYMOUS == type.getNestingKind() ||
+                    (NestingKind.MEMBER == type.getNestingKind() && !type.getModifiers().contains(Modifier.STATIC))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String createEntry(String beanName, TypeElement beanType) {
+        StringBuilder entry = new StringBuilder(beanName).append('\t');
+        String name = getNamedValue(beanType);
+        if (null != name) {
+            entry.append(name);
+        }
+        entry.append('\t');
+        Set<String> supertypes = new LinkedHashSet<>();
+        collectSupertypes(beanType.asType(), supertypes);
+        entry.append(String.join(" ", supertypes));
+        return entry.toString();
+    }
+
+    private void collectSupertypes(TypeMirror type, Set<String> supertypes) {
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            if (TypeKind.DECLARED != supertype.getKind()) {
+                continue;
+            }
+            TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+            String name = elements.getBinaryName(element).toString();
+            if (!Object.class.getName().equals(name) && !isPlatformType(name) && supertypes.add(name)) {
+                collectSupertypes(supertype, supertypes);
+            }
+        }
+    }
+
+    private static boolean isPlatformType(String name) {
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    private static String getNamedValue(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(InjectProcessor.NAMED)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                    annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return String.valueOf(entry.getValue().getValue());
+                }
+            }
+            return "";
+        }
+        return null;
+    }
+
+    /**
+     * Reads entries of index written by previous compilation, except entries of classes processed by current one and
+     * classes which no longer exist.
+     *
+     * @return entries keyed by bean class name, or null if there is no index
+     */
+    private Map<String, String> readIndex() {
+        Map<String, String> previous = new LinkedHashMap<>();
+        try {
+            FileObject file = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                for (String line; null != (line = reader.readLine()); ) {
+                    int end = line.indexOf('\t');
+                    String beanName = end < 0 ? line.trim() : line.substring(0, end);
+                    if (!beanName.isEmpty() && '#' != beanName.charAt(0)) {
+                        previous.put(beanName, line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        previous.keySet().removeIf(beanName -> processedTypes.contains(beanName) || !exists(beanName));
+        return previous;
+    }
+
+    private boolean exists(String binaryName) {
+        TypeElement type = elements.getTypeElement(binaryName.replace('$', '.'));
+        if (null == type) {
+            type = elements.getTypeElement(binaryName);
+        }
+        return null != type && elements.getBinaryName(type).contentEquals(binaryName);
+    }
+
+    private void writeIndex() {
+        Map<String, String> index = readIndex();
+        if (null == index) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            index = entries;
+        } else {
+            index.keySet().removeAll(entries.keySet());
+            index.putAll(entries);
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE,
+                    originatingElements.toArray(new Element[0]));
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : index.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write bean index: " + e.getMessage());
+        }
+    }
+}
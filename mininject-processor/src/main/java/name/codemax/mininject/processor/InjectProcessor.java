@@ -0,0 +1,388 @@
+package name.codemax.mininject.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code GeneratedBeanFactory} implementations for classes having {@code javax.inject.Inject} annotated
+ * members or {@code javax.inject.Singleton} annotation. Generated factories instantiate and inject beans without
+ * reflection. Factory is not generated (and runtime falls back to reflection) if bean class or any of its injectable
+ * members is not accessible from the same package, or if injection point type cannot be expressed as a class literal
+ * or parameterized type.
+ *
+ * @author Maksim Osipov
+ */
+public class InjectProcessor extends AbstractProcessor {
+    static final String INJECT = "javax.inject.Inject";
+    static final String SINGLETON = "javax.inject.Singleton";
+    static final String NAMED = "javax.inject.Named";
+    static final String FACTORY_INTERFACE = "name.codemax.mininject.injector.GeneratedBeanFactory";
+    static final String CONTEXT_INTERFACE = "name.codemax.mininject.injector.InjectionContext";
+    static final String TYPE_UTILS = "name.codemax.mininject.util.TypeUtils";
+    static final String FACTORY_SUFFIX = "_MinInjectFactory";
+
+    private static class UnsupportedBeanException extends Exception {
+        private UnsupportedBeanException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final Set<String> processedTypes = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotations = new HashSet<>();
+        annotations.add(INJECT);
+        annotations.add(SINGLETON);
+        return annotations;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (null == elements.getTypeElement(FACTORY_INTERFACE)) {
+            return false;
+        }
+        Set<TypeElement> beanTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement beanType = element instanceof TypeElement
+                        ? (TypeElement) element
+                        : (TypeElement) element.getEnclosingElement();
+                if (ElementKind.CLASS == beanType.getKind()) {
+                    beanTypes.add(beanType);
+                }
+            }
+        }
+        for (TypeElement beanType : beanTypes) {
+            String beanName = elements.getBinaryName(beanType).toString();
+            if (!processedTypes.add(beanName)) {
+                continue;
+            }
+            try {
+                generateFactory(beanType);
+            } catch (UnsupportedBeanException e) {
+                messager.printMessage(Diagnostic.Kind.NOTE,
+                        "Bean factory is not generated for " + beanName + ": " + e.getMessage(), beanType);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "Unable to write bean factory for " + beanName + ": " + e.getMessage(), beanType);
+            }
+        }
+        return false;
+    }
+
+    private void generateFactory(TypeElement beanType) throws UnsupportedBeanException, IOException {
+        checkBeanType(beanType);
+        ExecutableElement constructor = getInjectConstructor(beanType);
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(beanType.getEnclosedElements())) {
+            if (hasAnnotation(field, INJECT)) {
+                checkAccessible(field);
+                if (field.getModifiers().contains(Modifier.FINAL)) {
+                    throw new UnsupportedBeanException("field " + field.getSimpleName() + " is final");
+                }
+                fields.add(field);
+            }
+        }
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(beanType.getEnclosedElements())) {
+            if (hasAnnotation(method, INJECT)) {
+                checkAccessible(method);
+                methods.add(method);
+            }
+        }
+
+        String packageName = elements.getPackageOf(beanType).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(beanType).toString();
+        // Binary name keeps '$' of nested classes, so a.Outer$Bean and a.Outer_Bean get different factories.
+        String factoryName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) +
+                FACTORY_SUFFIX;
+        String beanTypeName = beanType.getQualifiedName().toString();
+
+        List<String> typeConstants = new ArrayList<>();
+        StringBuilder create = new StringBuilder();
+        create.append("        return new ").append(beanTypeName).append('(');
+        appendArguments(create, constructor.getParameters(), typeConstants);
+        create.append(");\n");
+        StringBuilder inject = new StringBuilder();
+        for (VariableElement field : fields) {
+            String target = field.getModifiers().contains(Modifier.STATIC) ? beanTypeName : "bean";
+            inject.append("        ").append(target).append('.').append(field.getSimpleName()).append(" = ");
+            appendResolution(inject, field, typeConstants);
+            inject.append(";\n");
+        }
+        for (ExecutableElement method : methods) {
+            String target = method.getModifiers().contains(Modifier.STATIC) ? beanTypeName : "bean";
+            inject.append("        ").append(target).append('.').append(method.getSimpleName()).append('(');
+            appendArguments(inject, method.getParameters(), typeConstants);
+            inject.append(");\n");
+        }
+
+        JavaFileObject file = filer.createSourceFile(
+                (packageName.isEmpty() ? "" : packageName + '.') + factoryName, beanType);
+        try (Writer writer = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            if (null != elements.getTypeElement("javax.annotation.processing.Generated")) {
+                writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            }
+            writer.write("@SuppressWarnings(\"unchecked\")\n");
+            writer.write("public final class " + factoryName + " implements " + FACTORY_INTERFACE + '<' +
+                    beanTypeName + "> {\n");
+            for (int i = 0; i < typeConstants.size(); ++i) {
+                writer.write("    private static final java.lang.reflect.Type TYPE_" + i + " = " +
+                        typeConstants.get(i) + ";\n");
+            }
+            if (!typeConstants.isEmpty()) {
+                writer.write('\n');
+            }
+            writer.write("    @Override\n");
+            writer.write("    public " + beanTypeName + " create(" + CONTEXT_INTERFACE +
+                    " context) throws Exception {\n");
+            writer.write(create.toString());
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public void inject(" + beanTypeName + " bean, " + CONTEXT_INTERFACE +
+                    " context) throws Exception {\n");
+            writer.write(inject.toString());
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    private void checkBeanType(TypeElement beanType) throws UnsupportedBeanException {
+        if (beanType.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedBeanException("class is abstract");
+        }
+        if (!beanType.getTypeParameters().isEmpty()) {
+            throw new UnsupportedBeanException("class is generic");
+        }
+        for (Element element = beanType; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement type = (TypeElement) element;
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedBeanException("class is not accessible");
+            }
+            if (NestingKind.MEMBER == type.getNestingKind() && !type.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedBeanException("class is inner class");
+            }
+            if (NestingKind.LOCAL == type.getNestingKind() || NestingKind.ANONYMOUS == type.getNestingKind()) {
+                throw new UnsupportedBeanException("class is local");
+            }
+        }
+    }
+
+    private ExecutableElement getInjectConstructor(TypeElement beanType) throws UnsupportedBeanException {
+        ExecutableElement injectConstructor = null;
+        ExecutableElement defaultConstructor = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(beanType.getEnclosedElements())) {
+            if (hasAnnotation(constructor, INJECT)) {
+                if (null != injectConstructor) {
+                    throw new UnsupportedBeanException("class has more than one @Inject constructor");
+                }
+                injectConstructor = constructor;
+            } else if (constructor.getParameters().isEmpty()) {
+                defaultConstructor = constructor;
+            }
+        }
+        ExecutableElement constructor = null == injectConstructor ? defaultConstructor : injectConstructor;
+        if (null == constructor) {
+            throw new UnsupportedBeanException("class has nor default neither @Inject constructor");
+        }
+        checkAccessible(constructor);
+        return constructor;
+    }
+
+    private void checkAccessible(Element element) throws UnsupportedBeanException {
+        if (element.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedBeanException(element.getSimpleName() + " is private");
+        }
+    }
+
+    private void appendArguments(StringBuilder builder, List<? extends VariableElement> parameters,
+                                 List<String> typeConstants) throws UnsupportedBeanException {
+        for (int i = 0; i < parameters.size(); ++i) {
+            if (0 != i) {
+                builder.append(", ");
+            }
+            appendResolution(builder, parameters.get(i), typeConstants);
+        }
+    }
+
+    private void appendResolution(StringBuilder builder, VariableElement variable, List<String> typeConstants)
+            throws UnsupportedBeanException {
+        TypeMirror type = variable.asType();
+        builder.append('(').append(getSourceName(type)).append(") context.resolve(");
+        String name = getNamedValue(variable);
+        if (null != name) {
+            builder.append(elements.getConstantExpression(name)).append(", ")
+                    .append(getTypeExpression(types.erasure(type), typeConstants));
+        } else {
+            builder.append(getTypeExpression(type, typeConstants));
+        }
+        builder.append(')');
+    }
+
+    private String getTypeExpression(TypeMirror type, List<String> typeConstants) throws UnsupportedBeanException {
+        if (type.getKind().isPrimitive()) {
+            return getSourceName(type) + ".class";
+        }
+        if (TypeKind.ARRAY == type.getKind()) {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            if (TypeKind.DECLARED == component.getKind() && !((DeclaredType) component).getTypeArguments().isEmpty()) {
+                throw new UnsupportedBeanException("generic array type " + type + " is not supported");
+            }
+            return getSourceName(types.erasure(type)) + ".class";
+        }
+        if (TypeKind.DECLARED != type.getKind()) {
+            throw new UnsupportedBeanException("type " + type + " is not supported");
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        String rawExpression = getSourceName(types.erasure(type)) + ".class";
+        if (declaredType.getTypeArguments().isEmpty()) {
+            return rawExpression;
+        }
+        StringBuilder expression = new StringBuilder(TYPE_UTILS).append(".parameterize(").append(rawExpression);
+        for (TypeMirror argument : declaredType.getTypeArguments()) {
+            expression.append(", ").append(getTypeArgumentExpression(argument, typeConstants));
+        }
+        expression.append(')');
+        typeConstants.add(expression.toString());
+        return "TYPE_" + (typeConstants.size() - 1);
+    }
+
+    private String getTypeArgumentExpression(TypeMirror type, List<String> typeConstants)
+            throws UnsupportedBeanException {
+        if (TypeKind.DECLARED == type.getKind() && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            StringBuilder expression = new StringBuilder(TYPE_UTILS).append(".parameterize(")
+                    .append(getSourceName(types.erasure(type))).append(".class");
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                expression.append(", ").append(getTypeArgumentExpression(argument, typeConstants));
+            }
+            return expression.append(')').toString();
+        }
+        if (TypeKind.DECLARED == type.getKind()) {
+            return getSourceName(types.erasure(type)) + ".class";
+        }
+        if (TypeKind.ARRAY == type.getKind()) {
+            return getTypeExpression(type, typeConstants);
+        }
+        throw new UnsupportedBeanException("type argument " + type + " is not supported");
+    }
+
+    /**
+     * Returns source representation of type without type annotations, e.g. {@code @Nullable} of JSpecify, which are
+     * included by {@link TypeMirror#toString()} with qualified names that cannot be written in a cast.
+     *
+     * @param type type
+     * @return type name usable in generated source
+     */
+    private String getSourceName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        switch (type.getKind()) {
+            case ARRAY:
+                return getSourceName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                StringBuilder name = new StringBuilder(
+                        ((TypeElement) declaredType.asElement()).getQualifiedName());
+                List<? extends TypeMirror> arguments = declaredType.getTypeArguments();
+                for (int i = 0; i < arguments.size(); ++i) {
+                    name.append(0 == i ? "<" : ", ").append(getSourceName(arguments.get(i)));
+                }
+                return arguments.isEmpty() ? name.toString() : name.append('>').toString();
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                if (null != wildcardType.getExtendsBound()) {
+                    return "? extends " + getSourceName(wildcardType.getExtendsBound());
+                }
+                if (null != wildcardType.getSuperBound()) {
+                    return "? super " + getSourceName(wildcardType.getSuperBound());
+                }
+                return "?";
+            default:
+                TypeMirror erasure = types.erasure(type);
+                return erasure.getKind() == type.getKind() ? erasure.toString() : getSourceName(erasure);
+        }
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return null != getAnnotation(element, annotationName);
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String getNamedValue(Element element) {
+        AnnotationMirror named = getAnnotation(element, NAMED);
+        if (null == named) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                named.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,135 @@
+package name.codemax.mininject.processor;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.injector.BeanInjector;
+import name.codemax.mininject.injector.IndexConfiguration;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Maksim Osipov
+ */
+public class IndexProcessorTest {
+    private static final String SOURCE = "package test;\n" +
+            "import javax.inject.*;\n" +
+            "public class Beans {\n" +
+            "    public interface Component {}\n" +
+            "    public static abstract class AbstractComponent implements Component {}\n" +
+            "    @Singleton\n" +
+            "    public static class ComponentSingleton extends AbstractComponent {}\n" +
+            "    @Named(\"named\")\n" +
+            "    public static class NamedComponent implements Component {}\n" +
+            "    public static class Consumer {\n" +
+            "        @Inject @Named(\"named\") Component component;\n" +
+            "    }\n" +
+            "    @Singleton\n" +
+            "    public static abstract class AbstractSingleton {}\n" +
+            "    public class Inner {\n" +
+            "        @Inject Component component;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String EXTRA_SOURCE = "package test;\n" +
+            "import javax.inject.*;\n" +
+            "@Singleton\n" +
+            "public class Extra implements Beans.Component, java.io.Serializable, Comparable<Extra> {\n" +
+            "    public int compareTo(Extra other) { return 0; }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private File compile() throws Exception {
+        File output = folder.newFolder("classes");
+        compile(output, new SourceFile("test.Beans", SOURCE));
+        return output;
+    }
+
+    private static void compile(File output, JavaFileObject source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = Arrays.asList("-d", output.getPath(),
+                    "-classpath", output.getPath() + File.pathSeparator + System.getProperty("java.class.path"));
+            List<JavaFileObject> sources = Collections.singletonList(source);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, sources);
+            task.setProcessors(Collections.singletonList(new IndexProcessor()));
+            Assert.assertTrue(task.call());
+        }
+    }
+
+    @Test
+    public void testIndexGeneration() throws Exception {
+        File output = compile();
+        List<String> lines = Files.readAllLines(new File(output, IndexProcessor.INDEX_FILE).toPath(),
+                StandardCharsets.UTF_8);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertTrue(lines.contains("test.Beans$ComponentSingleton\t\ttest.Beans$AbstractComponent " +
+                "test.Beans$Component"));
+        Assert.assertTrue(lines.contains("test.Beans$NamedComponent\tnamed\ttest.Beans$Component"));
+        Assert.assertTrue(lines.contains("test.Beans$Consumer\t\t"));
+    }
+
+    @Test
+    public void testIncrementalIndexGeneration() throws Exception {
+        File output = compile();
+        Assert.assertTrue(new File(output, "test/Beans$Consumer.class").delete());
+        compile(output, new SourceFile("test.Extra", EXTRA_SOURCE));
+        List<String> lines = Files.readAllLines(new File(output, IndexProcessor.INDEX_FILE).toPath(),
+                StandardCharsets.UTF_8);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertTrue(lines.contains("test.Beans$ComponentSingleton\t\ttest.Beans$AbstractComponent " +
+                "test.Beans$Component"));
+        Assert.assertTrue(lines.contains("test.Beans$NamedComponent\tnamed\ttest.Beans$Component"));
+        Assert.assertTrue(lines.contains("test.Extra\t\ttest.Beans$Component"));
+    }
+
+    @Test
+    public void testIndexConfiguration() throws Exception {
+        File output = compile();
+        ClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+        ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+        BeanInjector beanInjector = new BeanInjector(beanContainer);
+        new IndexConfiguration(classLoader).configure(beanInjector);
+        beanInjector.perform();
+
+        Class<?> consumer = classLoader.loadClass("test.Beans$Consumer");
+        Object bean = beanContainer.get(consumer);
+        Assert.assertNotNull(bean);
+        Assert.assertEquals("test.Beans$NamedComponent", beanContainer.get("named").getClass().getName());
+        Assert.assertEquals(2, beanContainer.list("test.Beans$Component").size());
+        Object singleton = beanContainer.get("test.Beans$AbstractComponent");
+        Assert.assertSame(singleton, beanContainer.get("test.Beans$AbstractComponent"));
+    }
+}
@@ -0,0 +1,178 @@
+package name.codemax.mininject.processor;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.injector.BeanInjector;
+import name.codemax.mininject.injector.GeneratedBeanFactory;
+import name.codemax.mininject.resolvers.BeanListResolver;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Maksim Osipov
+ */
+public class InjectProcessorTest {
+    private static final String SOURCE = "package test;\n" +
+            "import javax.inject.*;\n" +
+            "import java.util.List;\n" +
+            "public class Beans {\n" +
+            "    public interface Component {}\n" +
+            "    public static class ComponentImpl implements Component {}\n" +
+            "    @Singleton\n" +
+            "    public static class ComponentSingleton implements Component {}\n" +
+            "    public static class Consumer {\n" +
+            "        final Component component;\n" +
+            "        @Inject List<Component> components;\n" +
+            "        @Inject @Named(\"single\") Component named;\n" +
+            "        Component initialized;\n" +
+            "        @Inject Consumer(@Named(\"single\") Component component) { this.component = component; }\n" +
+            "        @Inject void init(@Named(\"single\") Component value) { initialized = value; }\n" +
+            "    }\n" +
+            "    public static class PrivateMember {\n" +
+            "        @Inject private Component component;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String TYPE_USE_SOURCE = "package test;\n" +
+            "import javax.inject.*;\n" +
+            "import java.lang.annotation.*;\n" +
+            "import java.util.List;\n" +
+            "import test.Beans.Component;\n" +
+            "public class Annotated {\n" +
+            "    @Target(ElementType.TYPE_USE)\n" +
+            "    public @interface N {}\n" +
+            "    final Component component;\n" +
+            "    @Inject @N Component field;\n" +
+            "    @Inject List<@N Component> components;\n" +
+            "    @Inject Annotated(@N Component component) { this.component = component; }\n" +
+            "}\n";
+    private static final String COLLIDING_SOURCE = "package test;\n" +
+            "import javax.inject.*;\n" +
+            "public class Beans_Consumer {\n" +
+            "    @Inject Beans.Component component;\n" +
+            "}\n";
+    private static final String FOREIGN_FACTORY_SOURCE = "package test;\n" +
+            "public class Foreign {\n" +
+            "}\n";
+    private static final String MISMATCHED_FACTORY_SOURCE = "package test;\n" +
+            "public class Foreign_MinInjectFactory\n" +
+            "        implements name.codemax.mininject.injector.GeneratedBeanFactory<Beans.ComponentImpl> {\n" +
+            "    public Beans.ComponentImpl create(name.codemax.mininject.injector.InjectionContext context) {\n" +
+            "        return new Beans.ComponentImpl();\n" +
+            "    }\n" +
+            "    public void inject(Beans.ComponentImpl bean, " +
+            "name.codemax.mininject.injector.InjectionContext context) {\n" +
+            "    }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private ClassLoader compile() throws Exception {
+        File output = folder.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = Arrays.asList("-d", output.getPath(),
+                    "-classpath", System.getProperty("java.class.path"));
+            List<JavaFileObject> sources = Arrays.asList(new SourceFile("test.Beans", SOURCE),
+                    new SourceFile("test.Annotated", TYPE_USE_SOURCE),
+                    new SourceFile("test.Beans_Consumer", COLLIDING_SOURCE),
+                    new SourceFile("test.Foreign", FOREIGN_FACTORY_SOURCE),
+                    new SourceFile("test.Foreign_MinInjectFactory", MISMATCHED_FACTORY_SOURCE));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, sources);
+            task.setProcessors(Collections.singletonList(new InjectProcessor()));
+            Assert.assertTrue(task.call());
+        }
+        return new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testFactoryGeneration() throws Exception {
+        ClassLoader classLoader = compile();
+        Assert.assertTrue(GeneratedBeanFactory.class.isAssignableFrom(
+                classLoader.loadClass("test.Beans$Consumer" + GeneratedBeanFactory.CLASS_NAME_SUFFIX)));
+        Assert.assertTrue(GeneratedBeanFactory.class.isAssignableFrom(
+                classLoader.loadClass("test.Beans_Consumer" + GeneratedBeanFactory.CLASS_NAME_SUFFIX)));
+        Assert.assertTrue(GeneratedBeanFactory.class.isAssignableFrom(
+                classLoader.loadClass("test.Beans$ComponentSingleton" + GeneratedBeanFactory.CLASS_NAME_SUFFIX)));
+        Assert.assertTrue(GeneratedBeanFactory.class.isAssignableFrom(
+                classLoader.loadClass("test.Annotated" + GeneratedBeanFactory.CLASS_NAME_SUFFIX)));
+        File privateMemberFactory = new File(folder.getRoot(),
+                "classes/test/Beans$PrivateMember" + GeneratedBeanFactory.CLASS_NAME_SUFFIX + ".class");
+        Assert.assertFalse(Files.exists(privateMemberFactory.toPath()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGeneratedFactoryInjection() throws Exception {
+        ClassLoader classLoader = compile();
+        Class<Object> component = (Class<Object>) classLoader.loadClass("test.Beans$Component");
+        Class<Object> componentImpl = (Class<Object>) classLoader.loadClass("test.Beans$ComponentImpl");
+        Class<Object> componentSingleton = (Class<Object>) classLoader.loadClass("test.Beans$ComponentSingleton");
+        Class<Object> consumer = (Class<Object>) classLoader.loadClass("test.Beans$Consumer");
+
+        ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+        BeanInjector beanInjector = new BeanInjector(beanContainer);
+        beanInjector.addBeanResolver(new BeanListResolver());
+        beanInjector.bind(component, componentImpl);
+        beanInjector.bind(component, componentSingleton);
+        beanInjector.bind("single", componentSingleton);
+        beanInjector.bind(consumer);
+        beanInjector.perform();
+
+        Object bean = beanContainer.get(consumer);
+        Object singleton = beanContainer.get(componentSingleton);
+        Assert.assertSame(singleton, getField(bean, "component"));
+        Assert.assertSame(singleton, getField(bean, "named"));
+        Assert.assertSame(singleton, getField(bean, "initialized"));
+        Assert.assertEquals(2, ((List<?>) getField(bean, "components")).size());
+    }
+
+    @Test
+    public void testMismatchedFactoryIgnored() throws Exception {
+        ClassLoader classLoader = compile();
+        Class<?> foreign = classLoader.loadClass("test.Foreign");
+        ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+        BeanInjector beanInjector = new BeanInjector(beanContainer);
+        beanInjector.bind(foreign);
+        beanInjector.perform();
+        Assert.assertSame(foreign, beanContainer.get(foreign).getClass());
+    }
+
+    private static Object getField(Object bean, String name) throws ReflectiveOperationException {
+        Field field = bean.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(bean);
+    }
+}
@@ -0,0 +1,219 @@
+package name.codemax.mininject.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Collects bean registrations and bindings which are published to container by a single call of
+ * {@link ConfigurableBeanContainer#registerAll(BeanBatch)}, e.g. tens of thousands of beans registered at startup.
+ * Batch is presized for expected number of entries and is not thread-safe; it is not bound to any container and may
+ * be published to several containers.
+ *
+ * @author Maksim Osipov
+ */
+public final class BeanBatch {
+    /**
+     * Kind of registered bean, corresponds to {@code register} methods of {@link ConfigurableBeanContainer}.
+     */
+    public enum Kind {
+        BEAN,
+        LAZY,
+        FACTORY,
+        SCOPED
+    }
+
+    /**
+     * Registration of bean or bean factory.
+     */
+    public static final class Definition {
+        private final Kind kind;
+        private final String name;
+        private final String scopeName;
+        private final Object bean;
+        private final Function<ListableBeanContainer, ?> factory;
+
+        private Definition(Kind kind, String name, String scopeName, Object bean,
+                           Function<ListableBeanContainer, ?> factory) {
+            this.kind = kind;
+            this.name = name;
+            this.scopeName = scopeName;
+            this.bean = bean;
+            this.factory = factory;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getScopeName() {
+            return scopeName;
+        }
+
+        public Object getBean() {
+            return bean;
+        }
+
+        public Function<ListableBeanContainer, ?> getFactory() {
+            return factory;
+        }
+    }
+
+    /**
+     * Binding of bean name to implementation name.
+     */
+    public static final class Binding {
+        private final String name;
+        private final String implementationName;
+        private final boolean primary;
+
+        private Binding(String name, String implementationName, boolean primary) {
+            this.name = name;
+            this.implementationName = implementationName;
+            this.primary = primary;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getImplementationName() {
+            return implementationName;
+        }
+
+        public boolean isPrimary() {
+            return primary;
+        }
+    }
+
+    private final List<Definition> definitions;
+    private final List<Binding> bindings;
+
+    public BeanBatch() {
+        this(16, 16);
+    }
+
+    /**
+     * Initializes new batch.
+     *
+     * @param expectedDefinitions expected number of registrations
+     * @param expectedBindings    expected number of bindings
+     */
+    public BeanBatch(int expectedDefinitions, int expectedBindings) {
+        definitions = new ArrayList<>(expectedDefinitions);
+        bindings = new ArrayList<>(expectedBindings);
+    }
+
+    public <T> BeanBatch register(String name, T bean) {
+        definitions.add(new Definition(Kind.BEAN, name, null, bean, null));
+        return this;
+    }
+
+    public <T> BeanBatch register(Class<T> type, T bean) {
+        return register(type.getName(), bean);
+    }
+
+    public <T> BeanBatch registerLazy(String name, Function<ListableBeanContainer, T> factory) {
+        definitions.add(new Definition(Kind.LAZY, name, null, null, Objects.requireNonNull(factory)));
+        return this;
+    }
+
+    public <T> BeanBatch registerLazy(Class<T> type, Function<ListableBeanContainer, T> factory) {
+        return registerLazy(type.getName(), factory);
+    }
+
+    public <T> BeanBatch registerFactory(String name, Function<ListableBeanContainer, T> factory) {
+        definitions.add(new Definition(Kind.FACTORY, name, null, null, Objects.requireNonNull(factory)));
+        return this;
+    }
+
+    public <T> BeanBatch registerFactory(Class<T> type, Function<ListableBeanContainer, T> factory) {
+        return registerFactory(type.getName(), factory);
+    }
+
+    /**
+     * Adds factory of scoped bean. Scope is looked up when batch is published, so it must be registered in container
+     * beforehand.
+     *
+     * @param name      bean name
+     * @param scopeName name of scope
+     * @param factory   bean factory
+     * @param <T>       bean type
+     * @return this batch
+     * @see ConfigurableBeanContainer#registerScoped(String, String, Function)
+     */
+    public <T> BeanBatch registerScoped(String name, String scopeName, Function<ListableBeanContainer, T> factory) {
+        definitions.add(new Definition(Kind.SCOPED, name, Objects.requireNonNull(scopeName), null,
+                Objects.requireNonNull(factory)));
+        return this;
+    }
+
+    public BeanBatch bind(String name, String implementationName, boolean asPrimary) {
+        bindings.add(new Binding(name, implementationName, asPrimary));
+        return this;
+    }
+
+    public BeanBatch bind(String name, String implementationName) {
+        return bind(name, implementationName, false);
+    }
+
+    public <T> BeanBatch bind(Class<T> type, Class<? extends T> implementationType) {
+        return bind(type.getName(), implementationType.getName());
+    }
+
+    /**
+     * Returns registrations in order they were added.
+     *
+     * @return unmodifiable list of registrations
+     */
+    public List<Definition> getDefinitions() {
+        return Collections.unmodifiableList(definitions);
+    }
+
+    /**
+     * Returns bindings in order they were added.
+     *
+     * @return unmodifiable list of bindings
+     */
+    public List<Binding> getBindings() {
+        return Collections.unmodifiableList(bindings);
+    }
+
+    public boolean isEmpty() {
+        return definitions.isEmpty() && bindings.isEmpty();
+    }
+
+    /**
+     * Registers beans and binds names one by one using regular methods of container. Used by containers which do not
+     * support publication of batch at once.
+     *
+     * @param container target container
+     */
+    public void applyTo(ConfigurableBeanContainer container) {
+        for (Definition definition : definitions) {
+            switch (definition.kind) {
+                case BEAN:
+                    container.register(definition.name, definition.bean);
+                    break;
+                case LAZY:
+                    container.registerLazy(definition.name, definition.factory);
+                    break;
+                case FACTORY:
+                    container.registerFactory(definition.name, definition.factory);
+                    break;
+                default:
+                    container.registerScoped(definition.name, definition.scopeName, definition.factory);
+                    break;
+            }
+        }
+        for (Binding binding : bindings) {
+            container.bind(binding.name, binding.implementationName, binding.primary);
+        }
+    }
+}
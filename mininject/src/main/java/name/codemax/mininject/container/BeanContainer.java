@@ -0,0 +1,71 @@
+package name.codemax.mininject.container;
+
+import name.codemax.mininject.util.TypeKey;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Basic bean container interface.
+ *
+ * @author Maksim Osipov
+ */
+public interface BeanContainer {
+    <T> T get(String name);
+
+    default <T> T get(Class<T> type) {
+        return get(type.getName());
+    }
+
+    /**
+     * Returns bean registered under name of specified type key, i.e. class name or full name of parameterized type.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return bean or null if there is no such bean
+     * @see TypeKey#getName()
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T get(TypeKey key) {
+        return key.isParameterized() ? get(key.getName()) : (T) get(key.getRawClass());
+    }
+
+    /**
+     * Returns stage completed with bean registered under specified name. Beans registered by
+     * {@link ConfigurableBeanContainer#registerAsync(String, Function)} are returned without waiting for their
+     * factories, other beans are looked up by {@link #get(String)} and returned as completed stages.
+     *
+     * @param name bean name
+     * @param <T>  bean type
+     * @return stage of bean, completed with null if there is no such bean
+     */
+    default <T> CompletionStage<T> getAsync(String name) {
+        return CompletableFuture.completedStage(get(name));
+    }
+
+    /**
+     * Returns stage completed with bean registered under name of specified type key.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return stage of bean, completed with null if there is no such bean
+     * @see #getAsync(String)
+     */
+    default <T> CompletionStage<T> getAsync(TypeKey key) {
+        return getAsync(key.getName());
+    }
+
+    /**
+     * Returns supplier of beans of specified class. Supplier returns the same beans as {@link #get(Class)}, but
+     * implementations may link it to bean definition once instead of looking bean up on every call.
+     *
+     * @param type bean class
+     * @param <T>  bean type
+     * @return supplier of beans, supplier returns null if there is no such bean
+     */
+    default <T> Supplier<T> getSupplier(Class<T> type) {
+        return () -> get(type);
+    }
+}
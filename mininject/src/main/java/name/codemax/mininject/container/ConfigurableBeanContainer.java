@@ -0,0 +1,175 @@
+package name.codemax.mininject.container;
+
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+import name.codemax.mininject.scopes.BeanScope;
+import name.codemax.mininject.util.TypeKey;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * @author Maksim Osipov
+ */
+public interface ConfigurableBeanContainer extends ListableBeanContainer {
+    <T> void register(String name, T bean);
+
+    default <T> void register(Class<T> type, T bean) {
+        register(type.getName(), bean);
+    }
+
+    /**
+     * Registers bean under name of specified type key, e.g. bean of parameterized type.
+     *
+     * @param key  type key
+     * @param bean bean
+     * @param <T>  bean type
+     * @see TypeKey#getName()
+     */
+    default <T> void register(TypeKey key, T bean) {
+        register(key.getName(), bean);
+    }
+
+    <T> void registerLazy(String name, Function<ListableBeanContainer, T> factory);
+
+    default <T> void registerLazy(Class<T> type, Function<ListableBeanContainer, T> factory) {
+        registerLazy(type.getName(), factory);
+    }
+
+    <T> void registerFactory(String name, Function<ListableBeanContainer, T> factory);
+
+    default <T> void registerFactory(Class<T> type, Function<ListableBeanContainer, T> factory) {
+        registerFactory(type.getName(), factory);
+    }
+
+    /**
+     * Registers singleton created by asynchronous factory, e.g. bean which loads cache or opens connection pool.
+     * Factory should return promptly with stage of pending initialization. Dependents may wait for the bean, or
+     * obtain its stage using {@link #getAsync(String)} and wait only when bean is really needed. Default
+     * implementation registers lazy singleton waiting for factory on first request.
+     *
+     * @param name    bean name
+     * @param factory asynchronous bean factory
+     * @param <T>     bean type
+     * @see #startAsync()
+     */
+    default <T> void registerAsync(String name,
+                                   Function<ListableBeanContainer, ? extends CompletionStage<T>> factory) {
+        registerLazy(name, ctx -> factory.apply(ctx).toCompletableFuture().join());
+    }
+
+    default <T> void registerAsync(Class<T> type,
+                                   Function<ListableBeanContainer, ? extends CompletionStage<T>> factory) {
+        registerAsync(type.getName(), factory);
+    }
+
+    /**
+     * Calls factories of all registered asynchronous beans which are not started yet, so they are initialized
+     * concurrently instead of one after another on the first request. Containers which start asynchronous beans on
+     * first request only ignore this call.
+     */
+    default void startAsync() {
+    }
+
+    /**
+     * Registers scope which can be used by scoped beans. Default implementation does not support scopes.
+     *
+     * @param scopeName scope name
+     * @param scope     scope
+     * @throws UnsupportedOperationException if container does not support scoped beans
+     */
+    default void registerScope(String scopeName, BeanScope scope) {
+        throw new UnsupportedOperationException("Bean container does not support scoped beans.");
+    }
+
+    /**
+     * Registers factory of bean which is created once per context of specified scope, e.g. once per thread or request.
+     *
+     * @param name      bean name
+     * @param scopeName name of registered scope
+     * @param factory   bean factory
+     * @param <T>       bean type
+     * @throws UnsupportedOperationException if container does not support scoped beans
+     */
+    default <T> void registerScoped(String name, String scopeName, Function<ListableBeanContainer, T> factory) {
+        throw new UnsupportedOperationException("Bean container does not support scoped beans.");
+    }
+
+    default <T> void registerScoped(Class<T> type, String scopeName, Function<ListableBeanContainer, T> factory) {
+        registerScoped(type.getName(), scopeName, factory);
+    }
+
+    void bind(String name, String implementationName, boolean asPrimary);
+
+    default void bind(String name, String implementationName) {
+        bind(name, implementationName, false);
+    }
+
+    default <T> void bind(String name, Class<T> implementationType, boolean asPrimary) {
+        bind(name, implementationType.getName(), asPrimary);
+    }
+
+    default <T> void bind(String name, Class<T> implementationType) {
+        bind(name, implementationType.getName());
+    }
+
+    default <T> void bind(Class<T> type, Class<? extends T> implementationType, boolean asPrimary) {
+        bind(type.getName(), implementationType.getName(), asPrimary);
+    }
+
+    default <T> void bind(Class<T> type, Class<? extends T> implementationType) {
+        bind(type.getName(), implementationType.getName());
+    }
+
+    /**
+     * Registers all beans and bindings collected by batch, registrations first, each group in order it was collected.
+     * Implementations may publish batch more efficiently than separate calls, but are not required to make it visible
+     * atomically. Default implementation applies them one by one.
+     *
+     * @param batch registrations and bindings
+     */
+    default void registerAll(BeanBatch batch) {
+        batch.applyTo(this);
+    }
+
+    /**
+     * Returns value indicating whether container rejects further registrations, e.g. once its configuration is
+     * compiled into immutable lookup table.
+     *
+     * @return true if container is frozen, false by default
+     */
+    default boolean isFrozen() {
+        return false;
+    }
+
+    /**
+     * Returns counter of changes of bean definitions and bindings, e.g. to find out whether code expected to bind beans
+     * only through injector has registered beans directly.
+     *
+     * @return number of changes, or -1 if container does not count them
+     */
+    default int getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Returns names of registered beans which specified name is resolved to by {@link #get(String)}, without creating
+     * beans. Used to validate configuration before any bean is requested.
+     *
+     * @param name bean name
+     * @return single name if bean is resolved unambiguously, all bound names if it is ambiguous, empty list if there
+     * is no such bean, or null if container does not support inspection of its definitions
+     */
+    default List<String> getDefinitionNames(String name) {
+        return null;
+    }
+
+    /**
+     * Adds listener notified about lifecycle of beans managed by container, e.g. lazy singletons initialization.
+     * Containers which do not report lifecycle events ignore listeners.
+     *
+     * @param listener lifecycle listener
+     */
+    default void addLifecycleListener(BeanLifecycleListener listener) {
+    }
+}
@@ -0,0 +1,66 @@
+package name.codemax.mininject.container;
+
+import name.codemax.mininject.util.TypeKey;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Maksim Osipov
+ */
+public interface ListableBeanContainer extends BeanContainer {
+    <T> List<T> list(String name);
+
+    default <T> List<T> list(Class<T> type) {
+        return list(type.getName());
+    }
+
+    /**
+     * Returns beans registered under name of specified type key or bound to it.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return list of beans
+     * @see TypeKey#getName()
+     */
+    @SuppressWarnings("unchecked")
+    default <T> List<T> list(TypeKey key) {
+        return key.isParameterized() ? list(key.getName()) : (List<T>) list(key.getRawClass());
+    }
+
+    /**
+     * Returns beans registered under specified name or bound to it, keyed by bean names. Default implementation
+     * looks every bean up by name.
+     *
+     * @param name bean name
+     * @param <T>  bean type
+     * @return unmodifiable map of beans by names, in order of {@link #list(String)}
+     * @throws UnsupportedOperationException if container does not support inspection of its definitions
+     */
+    default <T> Map<String, T> map(String name) {
+        List<String> names = listNames(name);
+        if (null == names) {
+            throw new UnsupportedOperationException("Bean container does not expose names of listed beans.");
+        }
+        Map<String, T> beans = new LinkedHashMap<>();
+        for (String beanName : names) {
+            T bean = get(beanName);
+            if (null != bean) {
+                beans.put(beanName, bean);
+            }
+        }
+        return Collections.unmodifiableMap(beans);
+    }
+
+    /**
+     * Returns names of beans {@link #list(String)} consists of, in the same order, without creating beans.
+     *
+     * @param name bean name
+     * @return bean names or null if container does not support inspection of its definitions
+     */
+    default List<String> listNames(String name) {
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Singleton created by asynchronous factory. Factory is called once, either when container starts asynchronous beans
+ * or on first request, and its result is shared by all requests. Requests for stage of the bean never block, requests
+ * for the bean itself wait for factory to complete. Failure of factory is cached, i.e. bean is never retried.
+ *
+ * @author Maksim Osipov
+ */
+class AsyncBeanDefinition<T> implements BeanDefinition<T> {
+    private final String name;
+    private final Function<ListableBeanContainer, ? extends CompletionStage<T>> factory;
+    private final Supplier<BeanLifecycleListener> listener;
+    private final AtomicReference<CompletionStage<T>> stage = new AtomicReference<>();
+    private volatile T bean = null;
+
+    public AsyncBeanDefinition(String name, Function<ListableBeanContainer, ? extends CompletionStage<T>> factory,
+                               Supplier<BeanLifecycleListener> listener) {
+        this.name = name;
+        this.factory = factory;
+        this.listener = listener;
+    }
+
+    /**
+     * Calls factory unless it is already called and returns stage completed with the bean.
+     *
+     * @param container container passed to factory
+     * @return stage which cannot be completed by callers
+     */
+    CompletionStage<T> start(ListableBeanContainer container) {
+        CompletionStage<T> current = stage.get();
+        if (null != current) {
+            return current;
+        }
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        current = promise.minimalCompletionStage();
+        if (!stage.compareAndSet(null, current)) {
+            return stage.get();
+        }
+        BeanLifecycleListener lifecycleListener = listener.get();
+        long start = null == lifecycleListener ? 0 : System.nanoTime();
+        try {
+            factory.apply(container).whenComplete((instance, failure) -> {
+                if (null != failure) {
+                    promise.completeExceptionally(failure);
+                    return;
+                }
+                bean = instance;
+                if (null != lifecycleListener && null != instance) {
+                    lifecycleListener.afterLazyInitialization(name, instance, System.nanoTime() - start);
+                }
+                promise.complete(instance);
+            });
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+        }
+        return current;
+    }
+
+    @Override
+    public T getBean(ListableBeanContainer container) {
+        T instance = bean;
+        if (null != instance) {
+            return instance;
+        }
+        try {
+            return start(container).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable cause = null == e.getCause() ? e : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Asynchronous initialization of bean " + name + " has failed.", cause);
+        }
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,863 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.BeanBatch;
+import name.codemax.mininject.container.BeanContainer;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+import name.codemax.mininject.listeners.CompositeLifecycleListener;
+import name.codemax.mininject.scopes.BeanScope;
+import name.codemax.mininject.util.TypeKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class BeanContainerImpl implements ConfigurableBeanContainer {
+    private static final BeanDefinition<?>[] EMPTY_DEFINITIONS = new BeanDefinition<?>[0];
+
+    /**
+     * Immutable version of binding. Versions share append-only buffer of bean names and index of their positions:
+     * names beyond size of a version are invisible to it, so appending a name to the latest version costs amortized
+     * O(1) and never affects versions being read. Versions must be derived from the latest one only, which is
+     * guaranteed by updating bindings using {@link ConcurrentHashMap#compute}.
+     */
+    private static class Binding {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final String[] buffer;
+        private final Map<String, Integer> positions;
+        private final List<String> beanNames;
+        private final String primaryBeanName;
+
+        private Binding(String beanName, boolean asPrimary) {
+            buffer = new String[INITIAL_CAPACITY];
+            buffer[0] = beanName;
+            positions = new HashMap<>();
+            positions.put(beanName, 0);
+            beanNames = Collections.unmodifiableList(Arrays.asList(buffer).subList(0, 1));
+            primaryBeanName = asPrimary ? beanName : null;
+        }
+
+        private Binding(int capacity) {
+            this(new String[Math.max(capacity, INITIAL_CAPACITY)], new HashMap<>(), 0, null);
+        }
+
+        private Binding(String[] buffer, Map<String, Integer> positions, int size, String primaryBeanName) {
+            this.buffer = buffer;
+            this.positions = positions;
+            this.beanNames = Collections.unmodifiableList(Arrays.asList(buffer).subList(0, size));
+            this.primaryBeanName = primaryBeanName;
+        }
+
+        private Binding append(String beanName, boolean asPrimary) {
+            String primaryName = asPrimary ? beanName : primaryBeanName;
+            int size = beanNames.size();
+            Integer position = positions.get(beanName);
+            if (null != position && position < size) {
+                return Objects.equals(primaryName, primaryBeanName)
+                        ? this
+                        : new Binding(buffer, positions, size, primaryName);
+            }
+            String[] target = size < buffer.length ? buffer : Arrays.copyOf(buffer, 2 * buffer.length);
+            target[size] = beanName;
+            positions.put(beanName, size);
+            return new Binding(target, positions, size + 1, primaryName);
+        }
+
+        private Binding appendAll(List<String> names, String primaryName) {
+            String[] target = buffer;
+            int size = beanNames.size();
+            for (String beanName : names) {
+                Integer position = positions.get(beanName);
+                if (null != position && position < size) {
+                    continue;
+                }
+                if (size == target.length) {
+                    target = Arrays.copyOf(target, Math.max(2 * target.length, beanNames.size() + names.size()));
+                }
+                target[size] = beanName;
+                positions.put(beanName, size++);
+            }
+            return new Binding(target, positions, size, null == primaryName ? primaryBeanName : primaryName);
+        }
+    }
+
+    private static class AmbiguousBeanDefinition implements BeanDefinition<Object> {
+        private final String name;
+
+        private AmbiguousBeanDefinition(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object getBean(ListableBeanContainer container) {
+            throw new IllegalStateException("There are more than one implementation registered for " + name + '.');
+        }
+    }
+
+    /**
+     * Immutable lookup table compiled from bean definitions and bindings. Each name is linked directly to the bean
+     * definition it resolves to, and to definitions of all beans it lists.
+     */
+    private static class FrozenState {
+        private final Map<String, BeanDefinition<?>> definitions;
+        private final Map<String, BeanDefinition<?>[]> lists;
+
+        private FrozenState(Map<String, BeanDefinition<?>> beanDefinitions, Map<String, Binding> bindings) {
+            definitions = new HashMap<>(beanDefinitions);
+            lists = new HashMap<>();
+            for (Map.Entry<String, BeanDefinition<?>> entry : beanDefinitions.entrySet()) {
+                lists.put(entry.getKey(), new BeanDefinition<?>[]{entry.getValue()});
+            }
+            for (Map.Entry<String, Binding> entry : bindings.entrySet()) {
+                String name = entry.getKey();
+                if (beanDefinitions.containsKey(name)) {
+                    continue;
+                }
+                BeanDefinition<?> definition = resolveBinding(name, entry.getValue(), beanDefinitions);
+                if (null != definition) {
+                    definitions.put(name, definition);
+                }
+                lists.put(name, listBinding(entry.getValue(), beanDefinitions));
+            }
+        }
+    }
+
+    /**
+     * Definitions resolved for class-based lookups, valid while container version is unchanged.
+     */
+    private static class LinkedDefinitions {
+        private final int version;
+        private final BeanDefinition<?> definition;
+        private final BeanDefinition<?>[] list;
+
+        private LinkedDefinitions(int version, BeanDefinition<?> definition, BeanDefinition<?>[] list) {
+            this.version = version;
+            this.definition = definition;
+            this.list = list;
+        }
+    }
+
+    /**
+     * Per-class slot of class-keyed index, also used for parameterized type keys. Holds class or type name and
+     * definitions it was last resolved to.
+     */
+    private static class ClassSlot {
+        private final String name;
+        private volatile LinkedDefinitions linked;
+
+        private ClassSlot(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Bean definition linked by {@link LinkedSupplier}, with singleton instance once it is known.
+     */
+    private static class LinkedBean<T> {
+        private final int version;
+        private final BeanDefinition<T> definition;
+        private final T bean;
+
+        private LinkedBean(int version, BeanDefinition<T> definition, T bean) {
+            this.version = version;
+            this.definition = definition;
+            this.bean = bean;
+        }
+    }
+
+    /**
+     * Supplier linked to bean definition of a class. Singleton is returned as a constant once created, factory is
+     * called directly. Link is reestablished when container version changes.
+     */
+    private final class LinkedSupplier<T> implements Supplier<T> {
+        private final Class<T> type;
+        private volatile LinkedBean<T> linked;
+
+        private LinkedSupplier(Class<T> type) {
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            LinkedBean<T> current = linked;
+            if (null == current || version.get() != current.version) {
+                LinkedDefinitions definitions = link(type);
+                current = new LinkedBean<>(definitions.version, (BeanDefinition<T>) definitions.definition, null);
+                linked = current;
+            }
+            if (null != current.bean) {
+                return current.bean;
+            }
+            if (null == current.definition) {
+                return null;
+            }
+            T bean = current.definition.getBean(BeanContainerImpl.this);
+            if (null != bean && current.definition.isSingleton()) {
+                linked = new LinkedBean<>(current.version, current.definition, bean);
+            }
+            return bean;
+        }
+    }
+
+    private final ConcurrentHashMap<String, BeanDefinition<?>> beanDefinitions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Binding> bindings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> boundNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<?>> cachedLists = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, ?>> cachedMaps = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, BeanScope> scopes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<TypeKey, ClassSlot> typeSlots = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
+    private final ClassValue<ClassSlot> classSlots = new ClassValue<>() {
+        @Override
+        protected ClassSlot computeValue(Class<?> type) {
+            return new ClassSlot(type.getName());
+        }
+    };
+    private final LazyFailurePolicy lazyFailurePolicy;
+    private volatile FrozenState frozenState;
+    private volatile BeanLifecycleListener lifecycleListener;
+
+    public BeanContainerImpl() {
+        this(LazyFailurePolicy.RETRY);
+    }
+
+    /**
+     * Initializes new container.
+     *
+     * @param lazyFailurePolicy behavior of lazy singletons after their factories failed
+     */
+    public BeanContainerImpl(LazyFailurePolicy lazyFailurePolicy) {
+        this.lazyFailurePolicy = Objects.requireNonNull(lazyFailurePolicy);
+        register(BeanContainerImpl.class, this);
+        bind(BeanContainer.class, BeanContainerImpl.class);
+        bind(ListableBeanContainer.class, BeanContainerImpl.class);
+        bind(ConfigurableBeanContainer.class, BeanContainerImpl.class);
+    }
+
+    /**
+     * Compiles registered bean definitions and bindings into immutable lookup table. Frozen container resolves each
+     * name by a single lookup. Any further registration or binding fails with {@link IllegalStateException}. The only
+     * exception is publication of lazy singleton instance by the thread which is creating it, which is performed
+     * by annotation-based injector to make singleton available for injection into its own dependencies.
+     * Should be called once configuration is finished.
+     */
+    public void freeze() {
+        if (null == frozenState) {
+            frozenState = new FrozenState(beanDefinitions, bindings);
+        }
+    }
+
+    /**
+     * Returns container version, which is incremented once by every registration, binding and published batch.
+     *
+     * @return container version
+     */
+    @Override
+    public int getModificationCount() {
+        return version.get();
+    }
+
+    /**
+     * Returns value indicating whether container is frozen.
+     *
+     * @return true if {@link #freeze()} was called, false otherwise
+     */
+    @Override
+    public boolean isFrozen() {
+        return null != frozenState;
+    }
+
+    private void checkNotFrozen(String name) {
+        if (null != frozenState) {
+            throw new IllegalStateException("Unable to register " + name + " due to bean container is frozen.");
+        }
+    }
+
+    public <T> void register(T bean) {
+        register(bean.getClass().getName(), bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> void register(String name, T bean) {
+        FrozenState frozen = frozenState;
+        if (null != frozen) {
+            BeanDefinition<?> definition = frozen.definitions.get(name);
+            if (definition instanceof LazyBeanDefinition && ((LazyBeanDefinition<T>) definition).publish(bean)) {
+                return;
+            }
+            checkNotFrozen(name);
+        }
+        beanDefinitions.put(name, new StoredBeanDefinition<>(bean));
+        version.incrementAndGet();
+        invalidateLists(name);
+    }
+
+    @Override
+    public <T> void registerLazy(String name, Function<ListableBeanContainer, T> factory) {
+        checkNotFrozen(name);
+        beanDefinitions.put(name, new LazyBeanDefinition<>(name, factory, lazyFailurePolicy,
+                this::getLifecycleListener));
+        version.incrementAndGet();
+        invalidateLists(name);
+    }
+
+    @Override
+    public <T> void registerFactory(String name, Function<ListableBeanContainer, T> factory) {
+        checkNotFrozen(name);
+        beanDefinitions.put(name, new FactoryBeanDefinition<>(factory));
+        version.incrementAndGet();
+        invalidateLists(name);
+    }
+
+    /**
+     * Registers singleton created by asynchronous factory. Factory is called by {@link #startAsync()} or on first
+     * request of the bean or its stage, whichever happens first.
+     *
+     * @param name    bean name
+     * @param factory asynchronous bean factory
+     * @param <T>     bean type
+     */
+    @Override
+    public <T> void registerAsync(String name, Function<ListableBeanContainer, ? extends CompletionStage<T>> factory) {
+        checkNotFrozen(name);
+        beanDefinitions.put(name, new AsyncBeanDefinition<>(name, factory, this::getLifecycleListener));
+        version.incrementAndGet();
+        invalidateLists(name);
+    }
+
+    @Override
+    public void startAsync() {
+        for (BeanDefinition<?> definition : beanDefinitions.values()) {
+            if (definition instanceof AsyncBeanDefinition) {
+                ((AsyncBeanDefinition<?>) definition).start(this);
+            }
+        }
+    }
+
+    @Override
+    public void registerScope(String scopeName, BeanScope scope) {
+        checkNotFrozen(scopeName);
+        scopes.put(scopeName, Objects.requireNonNull(scope));
+    }
+
+    @Override
+    public <T> void registerScoped(String name, String scopeName, Function<ListableBeanContainer, T> factory) {
+        checkNotFrozen(name);
+        BeanScope scope = scopes.get(scopeName);
+        if (null == scope) {
+            throw new IllegalStateException("Unable to register " + name + " due to scope " + scopeName +
+                    " is not registered.");
+        }
+        beanDefinitions.put(name, new ScopedBeanDefinition<>(scope, factory));
+        version.incrementAndGet();
+        invalidateLists(name);
+    }
+
+    @Override
+    public void bind(String name, String implementationName, boolean asPrimary) {
+        checkNotFrozen(name);
+        if (Objects.equals(name, implementationName)) {
+            return;
+        }
+        bindings.compute(name, (n, binding) -> null == binding
+                ? new Binding(implementationName, asPrimary)
+                : binding.append(implementationName, asPrimary));
+        boundNames.computeIfAbsent(implementationName, n -> ConcurrentHashMap.newKeySet()).add(name);
+        version.incrementAndGet();
+        cachedLists.remove(name);
+        cachedMaps.remove(name);
+    }
+
+    /**
+     * Publishes all registrations and bindings of batch with a single version change. Definitions are created and
+     * scopes are looked up before anything is published, so batch with unknown scope is rejected as a whole. All
+     * definitions are published before any binding, and bindings of each name are appended in a single update, so a
+     * name is never bound to a definition of the batch which is not published yet. Publication is not atomic:
+     * concurrent lookups by name may observe some definitions and bindings of the batch before others. Container
+     * version is incremented once, after the whole batch is published, so class-keyed indexes, linked suppliers and
+     * cached lists are invalidated once and then see the complete batch instead of being invalidated by every
+     * entry.
+     *
+     * @param batch registrations and bindings
+     */
+    @Override
+    public void registerAll(BeanBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (null != frozenState) {
+            List<BeanBatch.Definition> entries = batch.getDefinitions();
+            checkNotFrozen(entries.isEmpty() ? batch.getBindings().get(0).getName() : entries.get(0).getName());
+        }
+        Map<String, BeanDefinition<?>> definitions = new HashMap<>(batch.getDefinitions().size() * 4 / 3 + 1);
+        for (BeanBatch.Definition entry : batch.getDefinitions()) {
+            definitions.put(entry.getName(), createDefinition(entry, scopes::get));
+        }
+        Map<String, List<String>> boundNamesByName = new LinkedHashMap<>();
+        Map<String, String> primaryNames = new HashMap<>();
+        for (BeanBatch.Binding entry : batch.getBindings()) {
+            if (Objects.equals(entry.getName(), entry.getImplementationName())) {
+                continue;
+            }
+            boundNamesByName.computeIfAbsent(entry.getName(), n -> new ArrayList<>()).add(
+                    entry.getImplementationName());
+            if (entry.isPrimary()) {
+                primaryNames.put(entry.getName(), entry.getImplementationName());
+            }
+        }
+        beanDefinitions.putAll(definitions);
+        for (Map.Entry<String, List<String>> entry : boundNamesByName.entrySet()) {
+            List<String> names = entry.getValue();
+            String primaryName = primaryNames.get(entry.getKey());
+            bindings.compute(entry.getKey(), (n, binding) -> (null == binding ? new Binding(names.size()) : binding)
+                    .appendAll(names, primaryName));
+            for (String implementationName : names) {
+                boundNames.computeIfAbsent(implementationName, b -> ConcurrentHashMap.newKeySet()).add(entry.getKey());
+            }
+        }
+        version.incrementAndGet();
+        for (String name : definitions.keySet()) {
+            invalidateLists(name);
+        }
+        for (String name : boundNamesByName.keySet()) {
+            cachedLists.remove(name);
+            cachedMaps.remove(name);
+        }
+    }
+
+    /**
+     * Creates definition of bean registered by batch.
+     *
+     * @param entry  registration
+     * @param scopes lookup of scopes by names
+     * @return bean definition
+     * @throws IllegalStateException if scope of scoped bean is not registered
+     */
+    BeanDefinition<?> createDefinition(BeanBatch.Definition entry, Function<String, BeanScope> scopes) {
+        switch (entry.getKind()) {
+            case BEAN:
+                return new StoredBeanDefinition<>(entry.getBean());
+            case LAZY:
+                return new LazyBeanDefinition<>(entry.getName(), entry.getFactory(), lazyFailurePolicy,
+                        this::getLifecycleListener);
+            case FACTORY:
+                return new FactoryBeanDefinition<>(entry.getFactory());
+            default:
+                BeanScope scope = scopes.apply(entry.getScopeName());
+                if (null == scope) {
+                    throw new IllegalStateException("Unable to register " + entry.getName() + " due to scope " +
+                            entry.getScopeName() + " is not registered.");
+                }
+                return new ScopedBeanDefinition<>(scope, entry.getFactory());
+        }
+    }
+
+    /**
+     * Drops cached lists and maps which may contain bean of specified name, i.e. lists of the name itself and of
+     * names bound to it. Must be called after container version is incremented: list which is being built concurrently from
+     * outdated definitions is either dropped here, or is not cached by its builder due to version change.
+     *
+     * @param name name of registered bean
+     */
+    private void invalidateLists(String name) {
+        cachedLists.remove(name);
+        cachedMaps.remove(name);
+        Set<String> names = boundNames.get(name);
+        if (null != names) {
+            for (String boundName : names) {
+                cachedLists.remove(boundName);
+                cachedMaps.remove(boundName);
+            }
+        }
+    }
+
+    /**
+     * Adds listener notified about lazy singletons initialization. Listeners are consulted only when lazy singleton
+     * is being created, lookups of initialized beans are not affected.
+     *
+     * @param listener lifecycle listener
+     */
+    @Override
+    public synchronized void addLifecycleListener(BeanLifecycleListener listener) {
+        lifecycleListener = CompositeLifecycleListener.combine(lifecycleListener, Objects.requireNonNull(listener));
+    }
+
+    BeanLifecycleListener getLifecycleListener() {
+        return lifecycleListener;
+    }
+
+    LazyFailurePolicy getLazyFailurePolicy() {
+        return lazyFailurePolicy;
+    }
+
+    /**
+     * Returns definition registered exactly under specified name, bindings are not taken into account.
+     *
+     * @param name bean name
+     * @return bean definition or null
+     */
+    BeanDefinition<?> getRegisteredDefinition(String name) {
+        return beanDefinitions.get(name);
+    }
+
+    /**
+     * Returns names of beans bound to specified name in order of binding.
+     *
+     * @param name bean name
+     * @return bound names, empty if there is no binding
+     */
+    List<String> getBoundNames(String name) {
+        Binding binding = bindings.get(name);
+        return null == binding ? Collections.emptyList() : binding.beanNames;
+    }
+
+    /**
+     * Returns name of bean bound to specified name as primary.
+     *
+     * @param name bean name
+     * @return primary bean name or null
+     */
+    String getPrimaryName(String name) {
+        Binding binding = bindings.get(name);
+        return null == binding ? null : binding.primaryBeanName;
+    }
+
+    BeanScope getScope(String scopeName) {
+        return scopes.get(scopeName);
+    }
+
+    @Override
+    public List<String> getDefinitionNames(String name) {
+        if (beanDefinitions.containsKey(name)) {
+            return Collections.singletonList(name);
+        }
+        Binding binding = bindings.get(name);
+        if (null == binding) {
+            return Collections.emptyList();
+        }
+        String beanName = binding.primaryBeanName;
+        if (null == beanName) {
+            if (1 != binding.beanNames.size()) {
+                return binding.beanNames;
+            }
+            beanName = binding.beanNames.get(0);
+        }
+        return beanDefinitions.containsKey(beanName) ? Collections.singletonList(beanName) : Collections.emptyList();
+    }
+
+    /**
+     * Creates child container which overlays this container, see {@link ChildBeanContainer}.
+     *
+     * @return new child container
+     */
+    public ChildBeanContainer createChild() {
+        return new ChildBeanContainer(this);
+    }
+
+    private static BeanDefinition<?> resolveBinding(String name, Binding binding,
+                                                    Map<String, BeanDefinition<?>> beanDefinitions) {
+        if (null != binding.primaryBeanName) {
+            return beanDefinitions.get(binding.primaryBeanName);
+        }
+        if (1 == binding.beanNames.size()) {
+            return beanDefinitions.get(binding.beanNames.get(0));
+        }
+        return new AmbiguousBeanDefinition(name);
+    }
+
+    private static BeanDefinition<?>[] listBinding(Binding binding, Map<String, BeanDefinition<?>> beanDefinitions) {
+        List<BeanDefinition<?>> definitions = new ArrayList<>(binding.beanNames.size());
+        for (String beanName : binding.beanNames) {
+            BeanDefinition<?> definition = beanDefinitions.get(beanName);
+            if (null != definition) {
+                definitions.add(definition);
+            }
+        }
+        return definitions.toArray(EMPTY_DEFINITIONS);
+    }
+
+    private BeanDefinition<?> resolveDefinition(String name) {
+        FrozenState frozen = frozenState;
+        if (null != frozen) {
+            return frozen.definitions.get(name);
+        }
+        BeanDefinition<?> definition = beanDefinitions.get(name);
+        if (null != definition) {
+            return definition;
+        }
+        Binding binding = bindings.get(name);
+        return null == binding ? null : resolveBinding(name, binding, beanDefinitions);
+    }
+
+    private BeanDefinition<?>[] resolveList(String name) {
+        FrozenState frozen = frozenState;
+        if (null != frozen) {
+            return frozen.lists.getOrDefault(name, EMPTY_DEFINITIONS);
+        }
+        BeanDefinition<?> definition = beanDefinitions.get(name);
+        if (null != definition) {
+            return new BeanDefinition<?>[]{definition};
+        }
+        Binding binding = bindings.get(name);
+        return null == binding ? EMPTY_DEFINITIONS : listBinding(binding, beanDefinitions);
+    }
+
+    private LinkedDefinitions link(Class<?> type) {
+        return link(classSlots.get(type));
+    }
+
+    private LinkedDefinitions link(ClassSlot slot) {
+        LinkedDefinitions linked = slot.linked;
+        int currentVersion = version.get();
+        if (null == linked || currentVersion != linked.version) {
+            linked = new LinkedDefinitions(currentVersion, resolveDefinition(slot.name), resolveList(slot.name));
+            slot.linked = linked;
+        }
+        return linked;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(String name) {
+        BeanDefinition<?> definition = resolveDefinition(name);
+        return null == definition ? null : (T) definition.getBean(this);
+    }
+
+    /**
+     * Returns bean registered under name of specified class or bound to it. Lookup is performed using class-keyed
+     * index, class name is used only when index is invalidated by registration or binding.
+     *
+     * @param type bean class
+     * @param <T>  bean type
+     * @return bean or null if there is no such bean
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(Class<T> type) {
+        BeanDefinition<?> definition = link(type).definition;
+        return null == definition ? null : (T) definition.getBean(this);
+    }
+
+    /**
+     * Returns bean registered under name of specified type key or bound to it. Lookup is performed using key-based
+     * index, as for classes.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return bean or null if there is no such bean
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(TypeKey key) {
+        if (!key.isParameterized()) {
+            return (T) get(key.getRawClass());
+        }
+        BeanDefinition<?> definition = link(getSlot(key)).definition;
+        return null == definition ? null : (T) definition.getBean(this);
+    }
+
+    @Override
+    public <T> CompletionStage<T> getAsync(String name) {
+        return getAsync(resolveDefinition(name));
+    }
+
+    /**
+     * Returns stage of bean registered under name of specified type key or bound to it. Lookup is performed using
+     * key-based index, as for {@link #get(TypeKey)}.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return stage of bean, completed with null if there is no such bean
+     */
+    @Override
+    public <T> CompletionStage<T> getAsync(TypeKey key) {
+        return getAsync(link(key.isParameterized() ? getSlot(key) : classSlots.get(key.getRawClass())).definition);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletionStage<T> getAsync(BeanDefinition<?> definition) {
+        if (definition instanceof AsyncBeanDefinition) {
+            return ((AsyncBeanDefinition<T>) definition).start(this);
+        }
+        return CompletableFuture.completedStage(null == definition ? null : (T) definition.getBean(this));
+    }
+
+    private ClassSlot getSlot(TypeKey key) {
+        ClassSlot slot = typeSlots.get(key);
+        return null == slot ? typeSlots.computeIfAbsent(key, k -> new ClassSlot(k.getName())) : slot;
+    }
+
+    /**
+     * Returns supplier linked to bean definition of specified class. Singleton is returned by supplier as a constant
+     * once created, factory is called directly without lookup. Supplier is relinked after any registration or
+     * binding.
+     *
+     * @param type bean class
+     * @param <T>  bean type
+     * @return supplier of beans
+     */
+    @Override
+    public <T> Supplier<T> getSupplier(Class<T> type) {
+        return new LinkedSupplier<>(type);
+    }
+
+    /**
+     * Returns unmodifiable list of beans registered under specified name or bound to it. Lists consisting of
+     * singletons only are cached until bean of this name or any bean bound to it is registered, or new binding of
+     * this name is added.
+     *
+     * @param name bean name
+     * @param <T>  bean type
+     * @return list of beans
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> list(String name) {
+        List<?> cached = cachedLists.get(name);
+        if (null != cached) {
+            return (List<T>) cached;
+        }
+        int listVersion = version.get();
+        return list(name, listVersion, resolveList(name));
+    }
+
+    /**
+     * Returns beans registered under name of specified class or bound to it. Lookup is performed using class-keyed
+     * index, class name is used only when index is invalidated by registration or binding.
+     *
+     * @param type bean class
+     * @param <T>  bean type
+     * @return unmodifiable list of beans
+     * @see #list(String)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> list(Class<T> type) {
+        String name = type.getName();
+        List<?> cached = cachedLists.get(name);
+        if (null != cached) {
+            return (List<T>) cached;
+        }
+        LinkedDefinitions linked = link(type);
+        return list(name, linked.version, linked.list);
+    }
+
+    /**
+     * Returns beans registered under name of specified type key or bound to it. Lookup is performed using key-based
+     * index, as for classes.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return unmodifiable list of beans
+     * @see #list(String)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> list(TypeKey key) {
+        if (!key.isParameterized()) {
+            return (List<T>) list(key.getRawClass());
+        }
+        String name = key.getName();
+        List<?> cached = cachedLists.get(name);
+        if (null != cached) {
+            return (List<T>) cached;
+        }
+        LinkedDefinitions linked = link(getSlot(key));
+        return list(name, linked.version, linked.list);
+    }
+
+    @Override
+    public List<String> listNames(String name) {
+        if (beanDefinitions.containsKey(name)) {
+            return Collections.singletonList(name);
+        }
+        Binding binding = bindings.get(name);
+        if (null == binding) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(binding.beanNames.size());
+        for (String beanName : binding.beanNames) {
+            if (beanDefinitions.containsKey(beanName)) {
+                names.add(beanName);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns unmodifiable map of beans registered under specified name or bound to it, keyed by bean names in order
+     * of binding. Maps consisting of singletons only are cached in the same way as lists, so map is built once per
+     * version of its binding; maps containing prototypes are rebuilt on each call.
+     *
+     * @param name bean name
+     * @param <T>  bean type
+     * @return map of beans by names
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Map<String, T> map(String name) {
+        Map<String, ?> cached = cachedMaps.get(name);
+        if (null != cached) {
+            return (Map<String, T>) cached;
+        }
+        int mapVersion = version.get();
+        List<String> names = listNames(name);
+        Map<String, Object> beans = new LinkedHashMap<>(names.size() * 4 / 3 + 1);
+        boolean cacheable = true;
+        for (String beanName : names) {
+            BeanDefinition<?> definition = beanDefinitions.get(beanName);
+            Object bean = null == definition ? null : definition.getBean(this);
+            if (null != bean) {
+                beans.put(beanName, bean);
+            }
+            cacheable &= null != bean && definition.isSingleton();
+        }
+        Map<String, T> map = (Map<String, T>) Collections.unmodifiableMap(beans);
+        if (cacheable) {
+            cachedMaps.put(name, map);
+            if (version.get() != mapVersion) {
+                cachedMaps.remove(name, map);
+            }
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> list(String name, int listVersion, BeanDefinition<?>[] definitions) {
+        Object[] beans = new Object[definitions.length];
+        int count = 0;
+        boolean cacheable = true;
+        for (BeanDefinition<?> definition : definitions) {
+            Object bean = definition.getBean(this);
+            if (null != bean) {
+                beans[count++] = bean;
+            }
+            cacheable &= null != bean && definition.isSingleton();
+        }
+        List<T> list = (List<T>) Collections.unmodifiableList(
+                Arrays.asList(count == beans.length ? beans : Arrays.copyOf(beans, count)));
+        if (cacheable) {
+            cachedLists.put(name, list);
+            if (version.get() != listVersion) {
+                cachedLists.remove(name, list);
+            }
+        }
+        return list;
+    }
+}
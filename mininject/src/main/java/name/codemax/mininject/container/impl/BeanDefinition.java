@@ -0,0 +1,19 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+
+/**
+ * @author Maksim Osipov
+ */
+interface BeanDefinition<T> {
+    T getBean(ListableBeanContainer container);
+
+    /**
+     * Returns value indicating whether definition returns the same bean every time once it is created.
+     *
+     * @return true for singleton definitions
+     */
+    default boolean isSingleton() {
+        return false;
+    }
+}
@@ -0,0 +1,438 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.BeanBatch;
+import name.codemax.mininject.container.BeanContainer;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.scopes.BeanScope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Container which overlays parent container with a small set of local beans, bindings and scopes, e.g. to override
+ * a few beans per request. Creation of child container allocates a single object, local registrations are stored in
+ * small copy-on-write arrays. Lookups which are not satisfied locally are delegated to parent:
+ * <ul>
+ * <li>bean registered locally under requested name takes precedence over parent bean of the same name, including
+ * beans resolved through parent bindings;</li>
+ * <li>local bindings are merged with parent bindings of the same name, local primary binding takes precedence;</li>
+ * <li>{@link #list(String)} returns parent beans followed by local ones.</li>
+ * </ul>
+ * Beans defined in parent are created by parent, so parent singletons never depend on local beans. Parent is expected
+ * to be configured completely (usually frozen) before children are created.
+ *
+ * @author Maksim Osipov
+ */
+public class ChildBeanContainer implements ConfigurableBeanContainer {
+    private static final String[] SELF_NAMES = {BeanContainer.class.getName(), ListableBeanContainer.class.getName(),
+            ConfigurableBeanContainer.class.getName()};
+
+    private static class LocalBinding {
+        private final String name;
+        private final String[] beanNames;
+        private final String primaryBeanName;
+
+        private LocalBinding(String name, String[] beanNames, String primaryBeanName) {
+            this.name = name;
+            this.beanNames = beanNames;
+            this.primaryBeanName = primaryBeanName;
+        }
+    }
+
+    /**
+     * Immutable snapshot of local registrations.
+     */
+    private static class Overlay {
+        private static final Overlay EMPTY = new Overlay(new String[0], new BeanDefinition<?>[0], new LocalBinding[0],
+                new String[0], new BeanScope[0]);
+
+        private final String[] names;
+        private final BeanDefinition<?>[] definitions;
+        private final LocalBinding[] bindings;
+        private final String[] scopeNames;
+        private final BeanScope[] scopes;
+
+        private Overlay(String[] names, BeanDefinition<?>[] definitions, LocalBinding[] bindings,
+                        String[] scopeNames, BeanScope[] scopes) {
+            this.names = names;
+            this.definitions = definitions;
+            this.bindings = bindings;
+            this.scopeNames = scopeNames;
+            this.scopes = scopes;
+        }
+
+        private BeanDefinition<?> getDefinition(String name) {
+            int index = indexOf(names, name);
+            return index < 0 ? null : definitions[index];
+        }
+
+        private LocalBinding getBinding(String name) {
+            for (LocalBinding binding : bindings) {
+                if (binding.name.equals(name)) {
+                    return binding;
+                }
+            }
+            return null;
+        }
+
+        private BeanScope getScope(String scopeName) {
+            int index = indexOf(scopeNames, scopeName);
+            return index < 0 ? null : scopes[index];
+        }
+
+        private Overlay withDefinition(String name, BeanDefinition<?> definition) {
+            int index = indexOf(names, name);
+            if (index >= 0) {
+                BeanDefinition<?>[] updated = definitions.clone();
+                updated[index] = definition;
+                return new Overlay(names, updated, bindings, scopeNames, scopes);
+            }
+            return new Overlay(append(names, name), append(definitions, definition), bindings, scopeNames, scopes);
+        }
+
+        private Overlay withBinding(String name, String implementationName, boolean asPrimary) {
+            int index = 0;
+            while (index < bindings.length && !bindings[index].name.equals(name)) {
+                ++index;
+            }
+            LocalBinding binding = index < bindings.length
+                    ? bindings[index]
+                    : new LocalBinding(name, new String[0], null);
+            LocalBinding[] updated = Arrays.copyOf(bindings, Math.max(bindings.length, index + 1));
+            String[] beanNames = indexOf(binding.beanNames, implementationName) < 0
+                    ? append(binding.beanNames, implementationName)
+                    : binding.beanNames;
+            updated[index] = new LocalBinding(name, beanNames,
+                    asPrimary ? implementationName : binding.primaryBeanName);
+            return new Overlay(names, definitions, updated, scopeNames, scopes);
+        }
+
+        private Overlay withScope(String scopeName, BeanScope scope) {
+            int index = indexOf(scopeNames, scopeName);
+            if (index >= 0) {
+                BeanScope[] updated = scopes.clone();
+                updated[index] = scope;
+                return new Overlay(names, definitions, bindings, scopeNames, updated);
+            }
+            return new Overlay(names, definitions, bindings, append(scopeNames, scopeName), append(scopes, scope));
+        }
+
+        private static int indexOf(String[] array, String value) {
+            for (int i = 0; i < array.length; ++i) {
+                if (array[i].equals(value)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static <E> E[] append(E[] array, E value) {
+            E[] result = Arrays.copyOf(array, array.length + 1);
+            result[array.length] = value;
+            return result;
+        }
+    }
+
+    private final BeanContainerImpl parent;
+    private volatile Overlay overlay = Overlay.EMPTY;
+
+    /**
+     * Initializes new child container.
+     *
+     * @param parent parent container
+     */
+    public ChildBeanContainer(BeanContainerImpl parent) {
+        this.parent = Objects.requireNonNull(parent);
+    }
+
+    public BeanContainerImpl getParent() {
+        return parent;
+    }
+
+    private synchronized void update(Function<Overlay, Overlay> change) {
+        overlay = change.apply(overlay);
+    }
+
+    @Override
+    public <T> void register(String name, T bean) {
+        BeanDefinition<T> definition = new StoredBeanDefinition<>(bean);
+        update(current -> current.withDefinition(name, definition));
+    }
+
+    @Override
+    public <T> void registerLazy(String name, Function<ListableBeanContainer, T> factory) {
+        BeanDefinition<T> definition = new LazyBeanDefinition<>(name, factory, parent.getLazyFailurePolicy(),
+                parent::getLifecycleListener);
+        update(current -> current.withDefinition(name, definition));
+    }
+
+    @Override
+    public <T> void registerFactory(String name, Function<ListableBeanContainer, T> factory) {
+        BeanDefinition<T> definition = new FactoryBeanDefinition<>(factory);
+        update(current -> current.withDefinition(name, definition));
+    }
+
+    @Override
+    public void registerScope(String scopeName, BeanScope scope) {
+        Objects.requireNonNull(scope);
+        update(current -> current.withScope(scopeName, scope));
+    }
+
+    @Override
+    public <T> void registerAsync(String name, Function<ListableBeanContainer, ? extends CompletionStage<T>> factory) {
+        BeanDefinition<T> definition = new AsyncBeanDefinition<>(name, factory, parent::getLifecycleListener);
+        update(current -> current.withDefinition(name, definition));
+    }
+
+    /**
+     * Starts local asynchronous beans only, beans of parent are started by parent.
+     */
+    @Override
+    public void startAsync() {
+        for (BeanDefinition<?> definition : overlay.definitions) {
+            if (definition instanceof AsyncBeanDefinition) {
+                ((AsyncBeanDefinition<?>) definition).start(this);
+            }
+        }
+    }
+
+    private BeanScope getScope(String scopeName) {
+        BeanScope scope = overlay.getScope(scopeName);
+        return null == scope ? parent.getScope(scopeName) : scope;
+    }
+
+    @Override
+    public <T> void registerScoped(String name, String scopeName, Function<ListableBeanContainer, T> factory) {
+        BeanScope scope = getScope(scopeName);
+        if (null == scope) {
+            throw new IllegalStateException("Unable to register " + name + " due to scope " + scopeName +
+                    " is not registered.");
+        }
+        BeanDefinition<T> definition = new ScopedBeanDefinition<>(scope, factory);
+        update(current -> current.withDefinition(name, definition));
+    }
+
+    @Override
+    public void bind(String name, String implementationName, boolean asPrimary) {
+        if (Objects.equals(name, implementationName)) {
+            return;
+        }
+        update(current -> current.withBinding(name, implementationName, asPrimary));
+    }
+
+    /**
+     * Publishes all registrations and bindings of batch in a single update of local registrations, so readers see
+     * either none or all of them.
+     *
+     * @param batch registrations and bindings
+     */
+    @Override
+    public void registerAll(BeanBatch batch) {
+        List<BeanBatch.Definition> entries = batch.getDefinitions();
+        BeanDefinition<?>[] definitions = new BeanDefinition<?>[entries.size()];
+        for (int i = 0; i < definitions.length; ++i) {
+            definitions[i] = parent.createDefinition(entries.get(i), this::getScope);
+        }
+        update(current -> {
+            Overlay result = current;
+            for (int i = 0; i < definitions.length; ++i) {
+                result = result.withDefinition(entries.get(i).getName(), definitions[i]);
+            }
+            for (BeanBatch.Binding binding : batch.getBindings()) {
+                if (!Objects.equals(binding.getName(), binding.getImplementationName())) {
+                    result = result.withBinding(binding.getName(), binding.getImplementationName(),
+                            binding.isPrimary());
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public List<String> getDefinitionNames(String name) {
+        Overlay current = overlay;
+        if (isDefined(current, name)) {
+            return Collections.singletonList(name);
+        }
+        LocalBinding binding = current.getBinding(name);
+        if (null == binding) {
+            for (String selfName : SELF_NAMES) {
+                if (selfName.equals(name)) {
+                    return Collections.singletonList(name);
+                }
+            }
+        }
+        String primaryName = null == binding ? null : binding.primaryBeanName;
+        if (null == primaryName) {
+            primaryName = parent.getPrimaryName(name);
+        }
+        List<String> boundNames = parent.getBoundNames(name);
+        List<String> beanNames = new ArrayList<>(boundNames);
+        if (null != binding) {
+            for (String beanName : binding.beanNames) {
+                if (!boundNames.contains(beanName)) {
+                    beanNames.add(beanName);
+                }
+            }
+        }
+        if (null == primaryName) {
+            if (1 != beanNames.size()) {
+                return Collections.unmodifiableList(beanNames);
+            }
+            primaryName = beanNames.get(0);
+        }
+        return isDefined(current, primaryName) ? Collections.singletonList(primaryName) : Collections.emptyList();
+    }
+
+    @Override
+    public List<String> listNames(String name) {
+        Overlay current = overlay;
+        if (isDefined(current, name)) {
+            return Collections.singletonList(name);
+        }
+        List<String> boundNames = parent.getBoundNames(name);
+        LocalBinding binding = current.getBinding(name);
+        List<String> names = new ArrayList<>();
+        for (String beanName : boundNames) {
+            if (isDefined(current, beanName)) {
+                names.add(beanName);
+            }
+        }
+        if (null != binding) {
+            for (String beanName : binding.beanNames) {
+                if (!boundNames.contains(beanName) && isDefined(current, beanName)) {
+                    names.add(beanName);
+                }
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private boolean isDefined(Overlay current, String name) {
+        return null != current.getDefinition(name) || null != parent.getRegisteredDefinition(name);
+    }
+
+    /**
+     * Returns bean registered exactly under specified name, locally or in parent.
+     *
+     * @param current current overlay
+     * @param name    bean name
+     * @return bean or null if there is no such bean
+     */
+    private Object getDefined(Overlay current, String name) {
+        BeanDefinition<?> definition = current.getDefinition(name);
+        if (null != definition) {
+            return definition.getBean(this);
+        }
+        definition = parent.getRegisteredDefinition(name);
+        return null == definition ? null : definition.getBean(parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(String name) {
+        Overlay current = overlay;
+        BeanDefinition<?> definition = current.getDefinition(name);
+        if (null != definition) {
+            return (T) definition.getBean(this);
+        }
+        LocalBinding binding = current.getBinding(name);
+        if (null == binding) {
+            for (String selfName : SELF_NAMES) {
+                if (selfName.equals(name)) {
+                    return (T) this;
+                }
+            }
+        }
+        definition = parent.getRegisteredDefinition(name);
+        if (null != definition) {
+            return (T) definition.getBean(parent);
+        }
+        String primaryName = null == binding ? null : binding.primaryBeanName;
+        if (null == primaryName) {
+            primaryName = parent.getPrimaryName(name);
+        }
+        if (null != primaryName) {
+            return (T) getDefined(current, primaryName);
+        }
+        // Name rebound locally to implementation bound in parent, e.g. overridden in request overlay, is counted once.
+        List<String> boundNames = parent.getBoundNames(name);
+        int count = boundNames.size();
+        String beanName = 0 == count ? null : boundNames.get(0);
+        if (null != binding) {
+            for (String localName : binding.beanNames) {
+                if (!boundNames.contains(localName)) {
+                    ++count;
+                    if (null == beanName) {
+                        beanName = localName;
+                    }
+                }
+            }
+        }
+        if (0 == count) {
+            return null;
+        }
+        if (1 != count) {
+            throw new IllegalStateException("There are more than one implementation registered for " + name + '.');
+        }
+        return (T) getDefined(current, beanName);
+    }
+
+    /**
+     * Returns stage of bean registered exactly under specified name, locally or in parent, without waiting for
+     * asynchronous factory. Other beans, including ones resolved through bindings, are looked up by
+     * {@link #get(String)}.
+     *
+     * @param name bean name
+     * @param <T>  bean type
+     * @return stage of bean, completed with null if there is no such bean
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> CompletionStage<T> getAsync(String name) {
+        BeanDefinition<?> definition = overlay.getDefinition(name);
+        if (definition instanceof AsyncBeanDefinition) {
+            return ((AsyncBeanDefinition<T>) definition).start(this);
+        }
+        if (null == definition) {
+            return parent.getRegisteredDefinition(name) instanceof AsyncBeanDefinition
+                    ? parent.getAsync(name)
+                    : CompletableFuture.completedStage(get(name));
+        }
+        return CompletableFuture.completedStage((T) definition.getBean(this));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> list(String name) {
+        Overlay current = overlay;
+        if (null != current.getDefinition(name) || null != parent.getRegisteredDefinition(name)) {
+            T bean = (T) getDefined(current, name);
+            return null == bean ? Collections.emptyList() : Collections.singletonList(bean);
+        }
+        List<String> boundNames = parent.getBoundNames(name);
+        LocalBinding binding = current.getBinding(name);
+        String[] localNames = null == binding ? new String[0] : binding.beanNames;
+        List<T> beans = new ArrayList<>(boundNames.size() + localNames.length);
+        for (String beanName : boundNames) {
+            T bean = (T) getDefined(current, beanName);
+            if (null != bean) {
+                beans.add(bean);
+            }
+        }
+        for (String beanName : localNames) {
+            T bean = boundNames.contains(beanName) ? null : (T) getDefined(current, beanName);
+            if (null != bean) {
+                beans.add(bean);
+            }
+        }
+        return Collections.unmodifiableList(beans);
+    }
+}
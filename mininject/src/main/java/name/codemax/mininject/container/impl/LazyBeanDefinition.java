@@ -0,0 +1,155 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.jfr.LazyInitializationEvent;
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Singleton created by factory on first request. Initialized bean is returned after a single volatile read.
+ * Initialization is guarded by {@link ReentrantLock} rather than monitor, so virtual threads waiting for slow factory
+ * do not pin their carrier threads. Thread which is about to wait for initialization started by another thread checks
+ * whether that thread is waiting, directly or through other threads, for bean being initialized by current thread, and
+ * fails instead of deadlocking, the same way as circular dependency within a single thread fails.
+ *
+ * @author Maksim Osipov
+ */
+class LazyBeanDefinition<T> implements BeanDefinition<T> {
+    private static final ThreadLocal<int[]> INITIALIZATION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Map<Thread, LazyBeanDefinition<?>> WAITING = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Function<ListableBeanContainer, T> factory;
+    private final LazyFailurePolicy failurePolicy;
+    private final Supplier<BeanLifecycleListener> listener;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile T bean = null;
+    private volatile Thread owner = null;
+    private Throwable failure = null;
+
+    public LazyBeanDefinition(String name, Function<ListableBeanContainer, T> factory,
+                              LazyFailurePolicy failurePolicy, Supplier<BeanLifecycleListener> listener) {
+        this.name = name;
+        this.factory = factory;
+        this.failurePolicy = failurePolicy;
+        this.listener = listener;
+    }
+
+    @Override
+    public T getBean(ListableBeanContainer container) {
+        T instance = bean;
+        if (null != instance) {
+            return instance;
+        }
+        return initialize(container);
+    }
+
+    private T initialize(ListableBeanContainer container) {
+        LazyInitializationEvent event = LazyInitializationEvent.isTypeEnabled() ? new LazyInitializationEvent() : null;
+        int[] depth = null == event ? null : INITIALIZATION_DEPTH.get();
+        if (null != event) {
+            event.begin();
+        }
+        acquire();
+        try {
+            T instance = bean;
+            if (null != instance) {
+                if (null != depth) {
+                    event.commit(name, instance.getClass(), depth[0] + 1, true);
+                }
+                return instance;
+            }
+            if (null != failure) {
+                throw new IllegalStateException("Lazy bean initialization has failed before.", failure);
+            }
+            owner = Thread.currentThread();
+            BeanLifecycleListener lifecycleListener = listener.get();
+            long start = null == lifecycleListener ? 0 : System.nanoTime();
+            if (null != depth) {
+                ++depth[0];
+            }
+            try {
+                instance = factory.apply(container);
+            } catch (RuntimeException | Error e) {
+                if (LazyFailurePolicy.CACHE == failurePolicy) {
+                    failure = e;
+                }
+                throw e;
+            } finally {
+                if (null != depth) {
+                    --depth[0];
+                }
+            }
+            if (null == bean) {
+                bean = instance;
+            }
+            if (null != lifecycleListener && null != instance) {
+                lifecycleListener.afterLazyInitialization(name, instance, System.nanoTime() - start);
+            }
+            if (null != depth && null != instance) {
+                event.commit(name, instance.getClass(), depth[0] + 1, false);
+            }
+            return bean;
+        } finally {
+            if (1 == lock.getHoldCount()) {
+                owner = null;
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires initialization lock. Before waiting current thread is registered as waiting for this bean, so threads
+     * which form a cycle of waits see each other and at least one of them detects the cycle.
+     *
+     * @throws IllegalStateException if waiting would deadlock
+     */
+    private void acquire() {
+        if (lock.tryLock()) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        WAITING.put(current, this);
+        try {
+            LazyBeanDefinition<?> definition = this;
+            Thread thread = definition.owner;
+            while (null != thread) {
+                if (thread == current) {
+                    throw new IllegalStateException("Circular dependency of lazy bean " + name
+                            + " initialized by another thread.");
+                }
+                definition = WAITING.get(thread);
+                thread = null == definition ? null : definition.owner;
+            }
+            lock.lock();
+        } finally {
+            WAITING.remove(current);
+        }
+    }
+
+    /**
+     * Publishes bean instance before factory returns it. Allowed only for the thread which is running factory, e.g.
+     * to make singleton available for injection into its own dependencies.
+     *
+     * @param instance singleton instance created by factory
+     * @return true if instance is published, false if bean is already initialized or is not being initialized by
+     * current thread
+     */
+    boolean publish(T instance) {
+        if (!lock.isHeldByCurrentThread() || null != bean) {
+            return false;
+        }
+        bean = instance;
+        return true;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package name.codemax.mininject.container.impl;
+
+/**
+ * Defines behavior of lazy singleton after its factory failed.
+ *
+ * @author Maksim Osipov
+ */
+public enum LazyFailurePolicy {
+    /**
+     * Factory is called again on next request of the bean.
+     */
+    RETRY,
+    /**
+     * Failure is remembered and every next request of the bean fails with {@link IllegalStateException} caused by it,
+     * factory is never called again.
+     */
+    CACHE
+}
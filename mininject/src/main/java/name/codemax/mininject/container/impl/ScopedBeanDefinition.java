@@ -0,0 +1,32 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.scopes.BeanScope;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Bean created by factory once per context of its scope. Bean is stored in slot allocated at registration, so once
+ * current context is obtained from scope, lookup of existing bean is a single array read and does not allocate.
+ * Obtaining context is up to scope: built-in scopes keep it in {@link ThreadLocal}, i.e. every lookup also probes
+ * thread-local map of current thread.
+ *
+ * @author Maksim Osipov
+ */
+class ScopedBeanDefinition<T> implements BeanDefinition<T> {
+    private final BeanScope scope;
+    private final int slot;
+    private final Function<ListableBeanContainer, T> factory;
+
+    public ScopedBeanDefinition(BeanScope scope, Function<ListableBeanContainer, T> factory) {
+        this.scope = Objects.requireNonNull(scope);
+        this.factory = Objects.requireNonNull(factory);
+        slot = scope.allocateSlot();
+    }
+
+    @Override
+    public T getBean(ListableBeanContainer container) {
+        return scope.getContext().get(slot, factory, container);
+    }
+}
@@ -18,4 +18,9 @@ class StoredBeanDefinition<T> implements BeanDefinition<T> {
     public T getBean(ListableBeanContainer container) {
         return bean;
     }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
 }
@@ -0,0 +1,27 @@
+package name.codemax.mininject.injector;
+
+/**
+ * Defines how bean constructors, fields and methods are invoked during instantiation and injection.
+ *
+ * @author Maksim Osipov
+ */
+public enum AccessStrategy {
+    /**
+     * Uses core reflection API.
+     */
+    REFLECTION(ReflectionAccessorFactory.INSTANCE),
+    /**
+     * Uses method handles linked once per member. Default strategy.
+     */
+    METHOD_HANDLES(MethodHandleAccessorFactory.INSTANCE);
+
+    private final MemberAccessorFactory accessorFactory;
+
+    AccessStrategy(MemberAccessorFactory accessorFactory) {
+        this.accessorFactory = accessorFactory;
+    }
+
+    MemberAccessorFactory getAccessorFactory() {
+        return accessorFactory;
+    }
+}
@@ -0,0 +1,747 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.jfr.BeanEvent;
+import name.codemax.mininject.jfr.CreateBeanEvent;
+import name.codemax.mininject.jfr.DeferredInjectionEvent;
+import name.codemax.mininject.jfr.InitializeBeanEvent;
+import name.codemax.mininject.jfr.ResolveBeanEvent;
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+import name.codemax.mininject.listeners.CompositeLifecycleListener;
+import name.codemax.mininject.resolvers.BeanResolver;
+import name.codemax.mininject.util.TypeKey;
+import name.codemax.mininject.util.TypeUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Performs dependency injection. Injects beans using {@link Inject} annotations on fields, methods and constructors.
+ * Uses {@link ConfigurableBeanContainer} for resolving existing or lazy initialized beans. Also registers in container
+ * initialized {@link Singleton} instances. If bean or its factory is not in bean container, creates new instance using
+ * annotated or default constructor. Injectable bean can have only one annotated constructor.
+ * Supports {@link Named} injection. Reflective discovery of constructors, fields and methods is performed once per
+ * bean class, resulting injection plans are cached.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanInitializer {
+    private final ConfigurableBeanContainer beanContainer;
+    private final Queue<Object> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ResolutionStack> resolutionStack = ThreadLocal.withInitial(ResolutionStack::new);
+    private final AtomicBoolean deferredInjectionMode = new AtomicBoolean(true);
+    private final List<BeanResolver> beanResolvers = new ArrayList<>();
+    private volatile Map<Class<?>, BeanResolver[]> resolverIndex = Collections.emptyMap();
+    private volatile int resolversVersion = 0;
+    private volatile BeanLifecycleListener lifecycleListener;
+    private final MemberAccessorFactory accessorFactory;
+    private final InjectionContext injectionContext = new InjectionContext() {
+        @Override
+        public <T> T resolve(Type type) {
+            return resolveBean(type);
+        }
+
+        @Override
+        public <T> T resolve(TypeKey key) {
+            return resolveBean(key, false, true);
+        }
+
+        @Override
+        public <T> T resolve(String name, Type type) {
+            return resolveBean(name, type);
+        }
+
+        @Override
+        public ListableBeanContainer getContainer() {
+            return beanContainer;
+        }
+    };
+    private final Map<Class<?>, InjectionPlan<?>> restoredPlans = new ConcurrentHashMap<>();
+    private final Map<TypeKey, InjectionPoint.ResolverSupplier> resolverSuppliers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> unboundSingletons = new ConcurrentHashMap<>();
+    private final SingletonLocks singletonLocks = new SingletonLocks();
+    private final ClassValue<InjectionPlan<?>> plans = new ClassValue<>() {
+        @Override
+        protected InjectionPlan<?> computeValue(Class<?> type) {
+            InjectionPlan<?> plan = restoredPlans.remove(type);
+            return null == plan ? InjectionPlan.create(type, accessorFactory) : plan;
+        }
+    };
+
+    /**
+     * Initializes new instance using specified application bean container and default access strategy.
+     *
+     * @param beanContainer application bean container
+     */
+    public BeanInitializer(ConfigurableBeanContainer beanContainer) {
+        this(beanContainer, AccessStrategy.METHOD_HANDLES);
+    }
+
+    /**
+     * Initializes new instance using specified application bean container and access strategy.
+     *
+     * @param beanContainer  application bean container
+     * @param accessStrategy strategy of bean constructors, fields and methods invocation
+     */
+    public BeanInitializer(ConfigurableBeanContainer beanContainer, AccessStrategy accessStrategy) {
+        this.beanContainer = Objects.requireNonNull(beanContainer);
+        this.accessorFactory = accessStrategy.getAccessorFactory();
+    }
+
+    private InjectionException createException(String message, String... arguments) {
+        return new InjectionException(String.format(message, (Object[]) arguments));
+    }
+
+    private InjectionException createException(String message, Exception cause, String... arguments) {
+        return new InjectionException(String.format(message, (Object[]) arguments), cause);
+    }
+
+    protected Object[] resolveParameters(Executable method) {
+        return resolveParameters(InjectionPoint.of(method));
+    }
+
+    private Object[] resolveParameters(InjectionPoint[] parameters) {
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; ++i) {
+            values[i] = resolveBean(parameters[i]);
+        }
+        return values;
+    }
+
+    private Object resolveBean(InjectionPoint point) {
+        if (point.isNamed()) {
+            return resolveBean(point.getName(), point.getRawClass());
+        }
+        InjectionPoint.ResolverSupplier resolverSupplier = point.getResolverSupplier();
+        int version = resolversVersion;
+        if (null == resolverSupplier || version != resolverSupplier.getVersion()) {
+            resolverSupplier = new InjectionPoint.ResolverSupplier(version, createResolverSupplier(point.getKey()));
+            point.setResolverSupplier(resolverSupplier);
+        }
+        Supplier<?> supplier = resolverSupplier.getSupplier();
+        if (null == supplier) {
+            return resolveBean(point.getKey(), false, false);
+        }
+        if (resolverSupplier.isLinked()) {
+            Object bean = supplier.get();
+            return null == bean ? resolveBean(point.getKey(), false, false) : bean;
+        }
+        BeanLifecycleListener listener = lifecycleListener;
+        if (null != listener) {
+            listener.resolverHit(point.getType());
+        }
+        return supplier.get();
+    }
+
+    private <T> Supplier<T> createResolverSupplier(TypeKey beanKey) {
+        BeanResolver[] resolvers = resolverIndex.get(beanKey.getRawClass());
+        if (null == resolvers) {
+            return null;
+        }
+        for (BeanResolver resolver : resolvers) {
+            Supplier<T> supplier = resolver.createSupplier(beanKey, injectionContext);
+            if (null != supplier) {
+                return supplier;
+            }
+        }
+        return null;
+    }
+
+    protected void injectField(Object object, Field field) {
+        injectField(object, field, InjectionPoint.of(field), InjectionPlan.FieldInjection.link(field, accessorFactory));
+    }
+
+    private void injectField(Object object, Field field, InjectionPoint point,
+                             MemberAccessorFactory.FieldAccessor accessor) {
+        Object bean = resolveBean(point);
+        try {
+            accessor.set(object, bean);
+        } catch (InvocationTargetException e) {
+            throw createException("Unable to inject value of field %s: " + e.getCause().getMessage(), e,
+                    field.getDeclaringClass().getName() + '#' + field.getName());
+        } catch (ReflectiveOperationException e) {
+            throw createException("Unable to inject value of field %s: " + e.getMessage(), e,
+                    field.getDeclaringClass().getName() + '#' + field.getName());
+        }
+    }
+
+    protected void invokeInjectMethod(Object object, Method method) {
+        invokeInjectMethod(object, method, InjectionPoint.of(method),
+                InjectionPlan.MethodInjection.link(method, accessorFactory));
+    }
+
+    private void invokeInjectMethod(Object object, Method method, InjectionPoint[] parameters,
+                                    MemberAccessorFactory.MethodAccessor accessor) {
+        try {
+            accessor.invoke(object, resolveParameters(parameters));
+        } catch (InvocationTargetException e) {
+            throw createException("Error occurred during call @Inject method %s: " + e.getCause().getMessage(), e,
+                    method.getDeclaringClass().getName() + '#' + method.getName());
+        } catch (ReflectiveOperationException e) {
+            throw createException("Unable to call @Inject method %s: " + e.getMessage(), e,
+                    method.getDeclaringClass().getName() + '#' + method.getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> InjectionPlan<T> getPlan(Class<T> beanClass) {
+        return (InjectionPlan<T>) plans.get(beanClass);
+    }
+
+    /**
+     * Supplies plan computed beforehand, e.g. read from {@link PlanSnapshot}, so bean class is not scanned on first
+     * use. Ignored if plan of bean class is already in use.
+     *
+     * @param plan injection plan
+     */
+    void restorePlan(InjectionPlan<?> plan) {
+        restoredPlans.put(plan.getBeanClass(), plan);
+    }
+
+    /**
+     * Checks whether beans of specified class are {@link Singleton} annotated, using restored plan if any.
+     *
+     * @param beanClass bean class
+     * @return true if bean class is singleton
+     */
+    boolean isSingleton(Class<?> beanClass) {
+        InjectionPlan<?> plan = restoredPlans.get(beanClass);
+        return null == plan ? beanClass.isAnnotationPresent(Singleton.class) : plan.isSingleton();
+    }
+
+    /**
+     * Checks whether values of specified class are supplied by bean resolvers.
+     *
+     * @param type raw class of injection point
+     * @return true if there are resolvers of this class
+     */
+    boolean hasResolvers(Class<?> type) {
+        return resolverIndex.containsKey(type);
+    }
+
+    /**
+     * Links unnamed injection point directly to container supplier of its class, so resolution of the point does no
+     * resolver and container lookups. Link is dropped when bean resolvers are changed, point is resolved as usual if
+     * supplier returns null.
+     *
+     * @param point injection point
+     */
+    void link(InjectionPoint point) {
+        point.setResolverSupplier(new InjectionPoint.ResolverSupplier(resolversVersion,
+                beanContainer.getSupplier(point.getRawClass()), true));
+    }
+
+    ConfigurableBeanContainer getBeanContainer() {
+        return beanContainer;
+    }
+
+    MemberAccessorFactory getAccessorFactory() {
+        return accessorFactory;
+    }
+
+    protected <T> T createBean(Class<T> beanClass) {
+        CreateBeanEvent event = CreateBeanEvent.isTypeEnabled() ? new CreateBeanEvent() : null;
+        if (null != event) {
+            event.begin();
+        }
+        InjectionPlan<T> plan = getPlan(beanClass);
+        BeanLifecycleListener listener = lifecycleListener;
+        T instance;
+        if (null == listener) {
+            instance = construct(plan);
+        } else {
+            listener.beforeConstruction(beanClass);
+            long start = System.nanoTime();
+            instance = construct(plan);
+            listener.afterConstruction(beanClass, instance, System.nanoTime() - start);
+        }
+        if (plan.isSingleton()) {
+            registerSingleton(beanClass, instance);
+        }
+        if (null != event) {
+            event.commit(beanClass.getName(), beanClass, getDepth(event), false);
+        }
+        return instance;
+    }
+
+    /**
+     * Makes singleton created by injector available for further injections. Singleton is registered in container
+     * unless container is frozen. Frozen container accepts only instances of singletons defined in it, which are
+     * published while their factories run; singletons created just in time for classes which are not bound are kept
+     * by initializer itself.
+     *
+     * @param beanClass bean class
+     * @param instance  singleton instance
+     */
+    private <T> void registerSingleton(Class<T> beanClass, T instance) {
+        if (beanContainer.isFrozen()) {
+            List<String> names = beanContainer.getDefinitionNames(beanClass.getName());
+            if (null == names || !names.contains(beanClass.getName())) {
+                unboundSingletons.putIfAbsent(beanClass, instance);
+                return;
+            }
+        }
+        beanContainer.register(beanClass, instance);
+    }
+
+    private <T> T construct(InjectionPlan<T> plan) {
+        return null == plan.getGeneratedFactory() ? instantiate(plan) : instantiateGenerated(plan);
+    }
+
+    private <T> T instantiateGenerated(InjectionPlan<T> plan) {
+        try {
+            return plan.getGeneratedFactory().create(injectionContext);
+        } catch (InjectionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw createException("Error occurred during bean %s instantiation: " + e.getMessage(), e,
+                    plan.getBeanClass().getName());
+        }
+    }
+
+    private <T> T instantiate(InjectionPlan<T> plan) {
+        Class<T> beanClass = plan.getBeanClass();
+        MemberAccessorFactory.ConstructorAccessor<T> constructor = plan.getConstructorAccessor();
+        try {
+            return constructor.newInstance(resolveParameters(plan.getConstructorParameters()));
+        } catch (InvocationTargetException e) {
+            throw createException("Error occurred during bean %s instantiation: " + e.getCause().getMessage(), e,
+                    beanClass.getName());
+        } catch (ReflectiveOperationException e) {
+            throw createException("Unable to instantiate bean %s: " + e.getMessage(), e, beanClass.getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T resolveBean(String beanName, Type beanType) {
+        Class<?> beanClass = TypeUtils.getRawClass(beanType);
+        ResolveBeanEvent event = ResolveBeanEvent.isTypeEnabled() ? new ResolveBeanEvent() : null;
+        ResolutionStack stack = null == event ? null : resolutionStack.get();
+        long creations = null == stack ? 0 : stack.getCreations();
+        if (null != event) {
+            event.begin();
+        }
+        Object bean = beanContainer.get(beanName);
+        if (!beanClass.isInstance(bean)) {
+            throw createException("Unable to resolve bean %s due to there is no such beans of type %s registered.",
+                    beanName, beanClass.getName());
+        }
+        if (null != stack) {
+            event.commit(beanName, beanClass, stack.getDepth(), creations == stack.getCreations());
+        }
+        return (T) bean;
+    }
+
+    protected <T> T resolveBean(Type beanType) {
+        return resolveBean(beanType, false);
+    }
+
+    protected <T> T resolveBean(Type beanType, boolean forceCreate) {
+        return resolveBean(TypeKey.of(beanType), forceCreate, !forceCreate);
+    }
+
+    /**
+     * Returns supplier created by bean resolvers for specified type. Suppliers are cached per type key until set of
+     * resolvers is changed.
+     *
+     * @param beanKey type key
+     * @return supplier or null if type is not resolved by resolvers
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Supplier<T> getResolverSupplier(TypeKey beanKey) {
+        InjectionPoint.ResolverSupplier resolverSupplier = resolverSuppliers.get(beanKey);
+        int version = resolversVersion;
+        if (null == resolverSupplier || version != resolverSupplier.getVersion()) {
+            resolverSupplier = new InjectionPoint.ResolverSupplier(version, createResolverSupplier(beanKey));
+            resolverSuppliers.put(beanKey, resolverSupplier);
+        }
+        return (Supplier<T>) resolverSupplier.getSupplier();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T resolveBean(TypeKey beanKey, boolean forceCreate, boolean useResolvers) {
+        if (useResolvers) {
+            Supplier<T> supplier = getResolverSupplier(beanKey);
+            if (null != supplier) {
+                BeanLifecycleListener listener = lifecycleListener;
+                if (null != listener) {
+                    listener.resolverHit(beanKey.getType());
+                }
+                return supplier.get();
+            }
+        }
+        Class<T> beanClass = (Class<T>) beanKey.getRawClass();
+        ResolutionStack stack = resolutionStack.get();
+        boolean resumed = forceCreate && stack.resume(beanClass);
+        if (!resumed) {
+            Class<?>[] cycle = stack.push(beanClass, !forceCreate);
+            if (null != cycle) {
+                throw createException(
+                        "Unable to resolve bean %s due to cyclic reference on itself in dependencies: %s.",
+                        beanClass.getName(), getCyclePath(cycle));
+            }
+        }
+        ResolveBeanEvent event = ResolveBeanEvent.isTypeEnabled() ? new ResolveBeanEvent() : null;
+        if (null != event) {
+            event.begin();
+        }
+        long creations = stack.getCreations();
+        try {
+            T bean = forceCreate ? null : getRegisteredBean(beanKey);
+            if (null == bean) {
+                stack.countCreation();
+                bean = forceCreate ? createBean(beanClass) : createJustInTime(beanKey, beanClass);
+            }
+            if (null != event && !resumed) {
+                event.commit(beanClass.getName(), beanClass, stack.getDepth(), creations == stack.getCreations());
+            }
+            return bean;
+        } finally {
+            if (!resumed) {
+                stack.pop();
+            }
+        }
+    }
+
+    /**
+     * Creates bean which is not registered in container. Singleton is created under lock of its class and container
+     * is checked again once lock is acquired, so concurrent resolutions get the same instance.
+     *
+     * @param beanKey   type key
+     * @param beanClass bean class
+     * @return bean
+     */
+    private <T> T createJustInTime(TypeKey beanKey, Class<T> beanClass) {
+        if (!getPlan(beanClass).isSingleton()) {
+            return createBean(beanClass);
+        }
+        singletonLocks.lock(beanClass);
+        try {
+            T bean = getRegisteredBean(beanKey);
+            return null == bean ? createBean(beanClass) : bean;
+        } finally {
+            singletonLocks.unlock(beanClass);
+        }
+    }
+
+    private int getDepth(BeanEvent event) {
+        return event.isEnabled() ? resolutionStack.get().getDepth() : 0;
+    }
+
+    /**
+     * Returns bean of specified type registered in container. Bean of parameterized type is looked up by full type
+     * name at first, then by name of raw class.
+     *
+     * @param beanKey type key
+     * @return bean or null if there is no such bean
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getRegisteredBean(TypeKey beanKey) {
+        if (beanKey.isParameterized()) {
+            T bean = beanContainer.get(beanKey);
+            if (null != bean) {
+                return bean;
+            }
+        }
+        T bean = (T) beanContainer.get(beanKey.getRawClass());
+        return null == bean ? (T) unboundSingletons.get(beanKey.getRawClass()) : bean;
+    }
+
+    static String getCyclePath(Class<?>[] cycle) {
+        StringBuilder path = new StringBuilder();
+        for (Class<?> type : cycle) {
+            if (0 != path.length()) {
+                path.append(" -> ");
+            }
+            path.append(type.getName());
+        }
+        return path.toString();
+    }
+
+    protected void initializeBean(Object bean) {
+        InitializeBeanEvent event = InitializeBeanEvent.isTypeEnabled() ? new InitializeBeanEvent() : null;
+        if (null != event) {
+            event.begin();
+        }
+        BeanLifecycleListener listener = lifecycleListener;
+        if (null == listener) {
+            injectMembers(bean);
+        } else {
+            long start = System.nanoTime();
+            injectMembers(bean);
+            listener.afterInjection(bean, System.nanoTime() - start);
+        }
+        if (null != event) {
+            event.commit(bean.getClass().getName(), bean.getClass(), getDepth(event), false);
+        }
+    }
+
+    private void injectMembers(Object bean) {
+        InjectionPlan<?> plan = getPlan(bean.getClass());
+        if (null != plan.getGeneratedFactory()) {
+            injectGenerated(plan, bean);
+            return;
+        }
+        for (InjectionPlan.FieldInjection injection : plan.getFields()) {
+            injectField(bean, injection.getField(), injection.getPoint(), injection.getAccessor());
+        }
+        for (InjectionPlan.MethodInjection injection : plan.getMethods()) {
+            invokeInjectMethod(bean, injection.getMethod(), injection.getParameters(), injection.getAccessor());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void injectGenerated(InjectionPlan<T> plan, Object bean) {
+        try {
+            plan.getGeneratedFactory().inject((T) bean, injectionContext);
+        } catch (InjectionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw createException("Error occurred during bean %s injection: " + e.getMessage(), e,
+                    plan.getBeanClass().getName());
+        }
+    }
+
+    /**
+     * Performs injection into specified object, initializes annotated fields and calls annotated methods.
+     * If deferred injection mode is disabled (enabled by default), initialization is performed immediately.
+     * Otherwise, real initialization is deferred until {@link #disableDeferredInjection()} is called.
+     *
+     * @param bean object needs to be initialized
+     */
+    public void initialize(Object bean) {
+        if (deferredInjectionMode.get()) {
+            injectionQueue.add(bean);
+        } else {
+            initializeBean(bean);
+        }
+    }
+
+    /**
+     * Returns value indicating current state of deferred injection mode.
+     *
+     * @return true if deferred injection mode is enabled, false otherwise
+     */
+    public boolean isDeferredInjectionEnabled() {
+        return deferredInjectionMode.get();
+    }
+
+    /**
+     * Enables deferred injection mode.
+     */
+    public void enableDeferredInjection() {
+        deferredInjectionMode.set(true);
+    }
+
+    /**
+     * Performs all deferred injections and disables deferred injection mode. Usually called after configuration is
+     * finished (all beans or its factories are registered in application bean container).
+     */
+    public void disableDeferredInjection() {
+        DeferredInjectionEvent event = new DeferredInjectionEvent();
+        event.begin();
+        int count = 0;
+        for (Object bean; null != (bean = injectionQueue.poll()); ++count) {
+            initializeBean(bean);
+        }
+        deferredInjectionMode.set(false);
+        commit(event, count, 0, false);
+    }
+
+    private static void commit(DeferredInjectionEvent event, int beanCount, int failureCount, boolean parallel) {
+        if (event.shouldCommit()) {
+            event.beanCount = beanCount;
+            event.failureCount = failureCount;
+            event.parallel = parallel;
+            event.commit();
+        }
+    }
+
+    /**
+     * Performs all deferred injections in parallel using specified executor and disables deferred injection mode.
+     * Bean is initialized after all deferred beans it depends on (i.e. beans of types of its injectable fields and
+     * method parameters), independent beans are initialized concurrently. Beans created during initialization are
+     * deferred and processed in the same way afterwards. All injection errors are collected and reported at once in
+     * order beans were deferred.
+     *
+     * @param executor executor used for injection, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @throws InjectionException if any injection fails
+     */
+    public void disableDeferredInjection(Executor executor) {
+        Objects.requireNonNull(executor);
+        DeferredInjectionEvent event = new DeferredInjectionEvent();
+        event.begin();
+        int count = 0;
+        List<Object> failedBeans = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (List<Object> beans; !(beans = drainInjectionQueue()).isEmpty(); ) {
+            List<Object> deferredBeans = beans;
+            count += beans.size();
+            Throwable[] beanFailures;
+            try {
+                beanFailures = new DependencyScheduler(getDependencies(beans))
+                        .run(i -> initializeBean(deferredBeans.get(i)), executor);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InjectionException("Deferred injection is interrupted.", e);
+            }
+            for (int i = 0; i < beanFailures.length; ++i) {
+                if (null != beanFailures[i]) {
+                    failedBeans.add(beans.get(i));
+                    failures.add(beanFailures[i]);
+                }
+            }
+        }
+        commit(event, count, failures.size(), true);
+        if (!failures.isEmpty()) {
+            throw createException("Deferred injection", failedBeans.get(0).getClass(), failures);
+        }
+        deferredInjectionMode.set(false);
+    }
+
+    private static InjectionException createException(String operation, Class<?> firstFailedClass,
+                                                      List<Throwable> failures) {
+        InjectionException exception = new InjectionException(String.format(
+                "%s failed for %d bean(s), first failure in %s: %s", operation, failures.size(),
+                firstFailedClass.getName(), failures.get(0).getMessage()), failures.get(0));
+        for (int i = 1; i < failures.size(); ++i) {
+            exception.addSuppressed(failures.get(i));
+        }
+        return exception;
+    }
+
+    /**
+     * Eagerly obtains beans of specified classes from container, e.g. to create lazy singletons at startup instead of
+     * the first request. Bean is obtained after all specified beans it depends on (i.e. beans assignable to types of
+     * its unnamed injection points), independent beans are obtained concurrently. All errors are collected and
+     * reported at once.
+     *
+     * @param beanClasses classes of beans
+     * @param executor    executor used for warm-up
+     * @return warm-up time report
+     * @throws InjectionException if any bean cannot be obtained
+     */
+    public WarmUpReport warmUp(List<Class<?>> beanClasses, Executor executor) {
+        Objects.requireNonNull(executor);
+        long start = System.nanoTime();
+        int[][] dependencies = new int[beanClasses.size()][];
+        Map<Class<?>, int[]> beansByType = new HashMap<>();
+        for (int i = 0; i < beanClasses.size(); ++i) {
+            dependencies[i] = getPlan(beanClasses.get(i)).getDependencies().stream()
+                    .map(type -> beansByType.computeIfAbsent(type, t -> findSubclasses(t, beanClasses)))
+                    .flatMapToInt(Arrays::stream)
+                    .toArray();
+        }
+        long[] durations = new long[beanClasses.size()];
+        Throwable[] beanFailures;
+        try {
+            beanFailures = new DependencyScheduler(dependencies).run(i -> {
+                long beanStart = System.nanoTime();
+                try {
+                    if (null == beanContainer.get(beanClasses.get(i))) {
+                        throw createException("Unable to warm up bean %s due to it is not registered.",
+                                beanClasses.get(i).getName());
+                    }
+                } finally {
+                    durations[i] = System.nanoTime() - beanStart;
+                }
+            }, executor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InjectionException("Warm-up is interrupted.", e);
+        }
+        List<WarmUpReport.BeanWarmUp> beans = new ArrayList<>(beanClasses.size());
+        List<Throwable> failures = new ArrayList<>();
+        Class<?> firstFailedClass = null;
+        for (int i = 0; i < beanClasses.size(); ++i) {
+            beans.add(new WarmUpReport.BeanWarmUp(beanClasses.get(i), durations[i]));
+            if (null != beanFailures[i]) {
+                firstFailedClass = null == firstFailedClass ? beanClasses.get(i) : firstFailedClass;
+                failures.add(beanFailures[i]);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw createException("Warm-up", firstFailedClass, failures);
+        }
+        return new WarmUpReport(beans, System.nanoTime() - start);
+    }
+
+    private static int[] findSubclasses(Class<?> type, List<Class<?>> classes) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < classes.size(); ++i) {
+            if (type.isAssignableFrom(classes.get(i))) {
+                indexes.add(i);
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private List<Object> drainInjectionQueue() {
+        List<Object> beans = new ArrayList<>();
+        for (Object bean; null != (bean = injectionQueue.poll()); ) {
+            beans.add(bean);
+        }
+        return beans;
+    }
+
+    private int[][] getDependencies(List<Object> beans) {
+        Map<Class<?>, int[]> beansByType = new HashMap<>();
+        int[][] dependencies = new int[beans.size()][];
+        for (int i = 0; i < beans.size(); ++i) {
+            Set<Class<?>> types = getPlan(beans.get(i).getClass()).getMemberDependencies();
+            dependencies[i] = types.stream()
+                    .map(type -> beansByType.computeIfAbsent(type, t -> findInstances(t, beans)))
+                    .flatMapToInt(Arrays::stream)
+                    .toArray();
+        }
+        return dependencies;
+    }
+
+    private static int[] findInstances(Class<?> type, List<Object> beans) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < beans.size(); ++i) {
+            if (type.isInstance(beans.get(i))) {
+                indexes.add(i);
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Adds listener notified about beans construction, injection and resolver hits. While no listener is added,
+     * lifecycle notifications cost a single field read.
+     *
+     * @param listener lifecycle listener
+     */
+    public synchronized void addLifecycleListener(BeanLifecycleListener listener) {
+        lifecycleListener = CompositeLifecycleListener.combine(lifecycleListener, Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Registers bean resolver. Resolvers are indexed by their resolvable types and applied in order of registration.
+     *
+     * @param resolver bean resolver
+     */
+    public synchronized void addBeanResolver(BeanResolver resolver) {
+        beanResolvers.add(Objects.requireNonNull(resolver));
+        Map<Class<?>, List<BeanResolver>> resolvers = new HashMap<>();
+        for (BeanResolver beanResolver : beanResolvers) {
+            for (Class<?> type : beanResolver.getResolvableTypes()) {
+                resolvers.computeIfAbsent(type, t -> new ArrayList<>()).add(beanResolver);
+            }
+        }
+        Map<Class<?>, BeanResolver[]> index = new HashMap<>();
+        resolvers.forEach((type, list) -> index.put(type, list.toArray(new BeanResolver[0])));
+        resolverIndex = index;
+        ++resolversVersion;
+    }
+}
@@ -0,0 +1,305 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.BeanBatch;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.listeners.BeanLifecycleListener;
+import name.codemax.mininject.resolvers.BeanResolver;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Provides configuration API for bean initializer and container.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanInjector {
+    private final BeanInitializer initializer;
+    private final ConfigurableBeanContainer beanContainer;
+    private final Set<Class<?>> singletons = ConcurrentHashMap.newKeySet();
+    private final List<PlanSnapshot.Binding> bindings = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final AtomicInteger sideEffects = new AtomicInteger();
+    private volatile boolean validation;
+
+    /**
+     * Initializes new instance using specified application bean container, which will be used for configuration.
+     *
+     * @param beanContainer application bean container
+     */
+    public BeanInjector(ConfigurableBeanContainer beanContainer) {
+        this(beanContainer, AccessStrategy.METHOD_HANDLES);
+    }
+
+    /**
+     * Initializes new instance using specified application bean container and strategy of bean constructors, fields
+     * and methods invocation.
+     *
+     * @param beanContainer  application bean container
+     * @param accessStrategy bean members access strategy
+     */
+    public BeanInjector(ConfigurableBeanContainer beanContainer, AccessStrategy accessStrategy) {
+        this.beanContainer = Objects.requireNonNull(beanContainer);
+        initializer = new BeanInitializer(beanContainer, Objects.requireNonNull(accessStrategy));
+    }
+
+    private <T> Function<ListableBeanContainer, T> createFactory(Class<T> implClass) {
+        return ctx -> {
+            T bean = initializer.resolveBean(implClass, true);
+            initializer.initialize(bean);
+            return bean;
+        };
+    }
+
+    /**
+     * Creates and registers factory in bean container. This factory is associated with given abstraction.
+     * It will be used to instantiate specified implementation where abstraction is injected.
+     *
+     * @param abstraction    base class or interface
+     * @param implementation implementation of given abstraction
+     * @param <T>            abstraction type
+     */
+    public <T> void bind(Class<T> abstraction, Class<? extends T> implementation) {
+        bind(implementation, null, Collections.singletonList(abstraction.getName()));
+    }
+
+    /**
+     * Creates and registers factory of scoped bean in bean container. This factory is associated with given
+     * abstraction. Bean is created once per context of specified scope, e.g. once per thread or request.
+     *
+     * @param scopeName      name of scope registered in bean container
+     * @param abstraction    base class or interface
+     * @param implementation implementation of given abstraction
+     * @param <T>            abstraction type
+     * @see ConfigurableBeanContainer#registerScope(String, name.codemax.mininject.scopes.BeanScope)
+     */
+    public <T> void bindScoped(String scopeName, Class<T> abstraction, Class<? extends T> implementation) {
+        bind(implementation, Objects.requireNonNull(scopeName), Collections.singletonList(abstraction.getName()));
+    }
+
+    /**
+     * Creates and registers factory in bean container. This factory is associated with given name.
+     * It will be used to instantiate specified implementation where named bean is injected.
+     *
+     * @param name           bean name
+     * @param implementation implementation class
+     * @param <T>            bean type
+     */
+    public <T> void bind(String name, Class<? extends T> implementation) {
+        bind(implementation, null, Collections.singletonList(name));
+    }
+
+    /**
+     * Creates and registers factory in bean container once and associates it with each of given names. It will be
+     * used to instantiate specified implementation where any of named beans is injected.
+     *
+     * @param implementation implementation class
+     * @param names          bean names, e.g. names of implemented interfaces
+     */
+    public void bind(Class<?> implementation, Collection<String> names) {
+        bind(implementation, null, names);
+    }
+
+    /**
+     * Registers factory of implementation, optionally scoped, and binds it to given names. Every call is recorded,
+     * so bindings can be written to {@link PlanSnapshot} and replayed in the same order.
+     *
+     * @param implementation implementation class
+     * @param scopeName      name of scope or null if bean is not scoped
+     * @param names          bean names
+     */
+    void bind(Class<?> implementation, String scopeName, Collection<String> names) {
+        BeanBatch batch = new BeanBatch(1, names.size());
+        bind(implementation, scopeName, names, batch);
+        registerAll(batch);
+    }
+
+    /**
+     * Adds factory of implementation and its bindings to batch which is published later by
+     * {@link #registerAll(BeanBatch)}, e.g. to publish all beans of an index by a single call. Call is recorded in the
+     * same way as {@link #bind(Class, String, Collection)}.
+     *
+     * @param implementation implementation class
+     * @param scopeName      name of scope or null if bean is not scoped
+     * @param names          bean names
+     * @param batch          batch of registrations
+     */
+    void bind(Class<?> implementation, String scopeName, Collection<String> names, BeanBatch batch) {
+        if (null != scopeName) {
+            batch.registerScoped(implementation.getName(), scopeName, createFactory(implementation));
+        } else if (initializer.isSingleton(implementation)) {
+            batch.registerLazy(implementation.getName(), createFactory(implementation));
+            singletons.add(implementation);
+        } else {
+            batch.registerFactory(implementation.getName(), createFactory(implementation));
+        }
+        for (String name : names) {
+            batch.bind(name, implementation.getName());
+        }
+        bindings.add(new PlanSnapshot.Binding(implementation, scopeName, new ArrayList<>(names)));
+    }
+
+    void registerAll(BeanBatch batch) {
+        if (!batch.isEmpty()) {
+            registrations.incrementAndGet();
+        }
+        beanContainer.registerAll(batch);
+    }
+
+    /**
+     * Returns number of batches published to container by this injector, each of them is a single change of container.
+     *
+     * @return number of published batches
+     * @see ConfigurableBeanContainer#getModificationCount()
+     */
+    int getRegistrationCount() {
+        return registrations.get();
+    }
+
+    /**
+     * Returns number of changes made by this injector which are not bindings, e.g. added resolvers and listeners.
+     *
+     * @return number of changes other than bindings
+     */
+    int getSideEffectCount() {
+        return sideEffects.get();
+    }
+
+    ConfigurableBeanContainer getBeanContainer() {
+        return beanContainer;
+    }
+
+    /**
+     * Returns all bindings made by this injector in order they were made.
+     *
+     * @return bindings
+     */
+    List<PlanSnapshot.Binding> getBindings() {
+        synchronized (bindings) {
+            return new ArrayList<>(bindings);
+        }
+    }
+
+    BeanInitializer getInitializer() {
+        return initializer;
+    }
+
+    /**
+     * Creates and registers factory in bean container. It will be used to instantiate bean of implementation type.
+     *
+     * @param implementation bean implementation class
+     * @param <T>            bean type
+     */
+    public <T> void bind(Class<T> implementation) {
+        bind(implementation, implementation);
+    }
+
+    /**
+     * Performs all deferred injections and disabled deferred injection mode. Usually called after configuration is
+     * finished (all beans or its factories are registered in application bean container). Then starts all
+     * asynchronous beans, so their factories run concurrently and dependents wait only for results they need.
+     *
+     * @see ConfigurableBeanContainer#startAsync()
+     */
+    public void perform() {
+        validateIfEnabled();
+        initializer.disableDeferredInjection();
+        beanContainer.startAsync();
+    }
+
+    /**
+     * Performs all deferred injections in parallel using specified executor, disables deferred injection mode and
+     * starts all asynchronous beans.
+     *
+     * @param executor executor used for injection
+     * @see BeanInitializer#disableDeferredInjection(Executor)
+     */
+    public void perform(Executor executor) {
+        validateIfEnabled();
+        initializer.disableDeferredInjection(executor);
+        beanContainer.startAsync();
+    }
+
+    /**
+     * Performs all deferred injections in parallel using specified executor, disables deferred injection mode and
+     * then eagerly creates all {@link Singleton} beans bound by this injector. Independent singletons are created
+     * concurrently on the same executor, so their creation cost is paid at startup instead of the first request.
+     * Asynchronous beans are started before singletons are created, so they are initialized in parallel with them.
+     *
+     * @param executor executor used for injection and singletons creation
+     * @return warm-up time report
+     * @see BeanInitializer#warmUp(List, Executor)
+     */
+    public WarmUpReport performWithWarmUp(Executor executor) {
+        validateIfEnabled();
+        initializer.disableDeferredInjection(executor);
+        beanContainer.startAsync();
+        List<Class<?>> beanClasses = new ArrayList<>(singletons);
+        beanClasses.sort(Comparator.comparing(Class::getName));
+        return initializer.warmUp(beanClasses, executor);
+    }
+
+    /**
+     * Enables validation of dependency graph before deferred injections are performed by any of {@code perform}
+     * methods.
+     *
+     * @see #validate()
+     */
+    public void enableValidation() {
+        validation = true;
+    }
+
+    private void validateIfEnabled() {
+        if (validation) {
+            validate();
+        }
+    }
+
+    /**
+     * Builds dependency graph of classes bound by this injector from their injection plans and definitions registered
+     * in bean container, without creating any bean, and reports all missing and ambiguous dependencies,
+     * non-instantiable classes and dependency cycles at once. Once graph is valid, injection points of bound classes
+     * are linked directly to container definitions they are resolved to, so their resolution does no lookups.
+     * Container should support {@link ConfigurableBeanContainer#getDefinitionNames(String)}, otherwise only
+     * instantiability of classes is checked.
+     *
+     * @throws InjectionException describing all found problems
+     */
+    public void validate() {
+        Set<Class<?>> implementations = new LinkedHashSet<>();
+        for (PlanSnapshot.Binding binding : getBindings()) {
+            implementations.add(binding.getImplementation());
+        }
+        new GraphValidator(initializer, implementations).validate();
+    }
+
+    public void addBeanResolver(BeanResolver resolver) {
+        sideEffects.incrementAndGet();
+        initializer.addBeanResolver(resolver);
+    }
+
+    /**
+     * Adds listener notified about lifecycle of beans created by injector and container, e.g. to find beans which
+     * slow down startup.
+     *
+     * @param listener lifecycle listener
+     * @see name.codemax.mininject.listeners.BeanStatisticsListener
+     */
+    public void addLifecycleListener(BeanLifecycleListener listener) {
+        sideEffects.incrementAndGet();
+        initializer.addLifecycleListener(listener);
+        beanContainer.addLifecycleListener(listener);
+    }
+}
@@ -1,7 +1,10 @@
 package name.codemax.mininject.injector;
 
 import name.codemax.mininject.resolvers.BeanListResolver;
+import name.codemax.mininject.resolvers.BeanMapResolver;
 import name.codemax.mininject.resolvers.BeanProviderResolver;
+import name.codemax.mininject.resolvers.BeanSetResolver;
+import name.codemax.mininject.resolvers.BeanStageResolver;
 
 /**
  * Default injector configuration.
@@ -13,5 +16,8 @@ public class DefaultConfiguration implements InjectorConfiguration {
     public void configure(BeanInjector injector) {
         injector.addBeanResolver(new BeanListResolver());
         injector.addBeanResolver(new BeanProviderResolver());
+        injector.addBeanResolver(new BeanMapResolver());
+        injector.addBeanResolver(new BeanSetResolver());
+        injector.addBeanResolver(new BeanStageResolver());
     }
 }
@@ -0,0 +1,130 @@
+package name.codemax.mininject.injector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs indexed tasks on executor respecting dependencies between them: task is started only after all tasks it
+ * depends on are completed, independent tasks run concurrently. Tasks which are part of dependency cycle or depend on
+ * such tasks are run after all other tasks, one by one in order of indexes, on calling thread. Failure of a task does
+ * not prevent other tasks from running.
+ *
+ * @author Maksim Osipov
+ */
+final class DependencyScheduler {
+    private final int[][] dependents;
+    private final int[] dependencyCounts;
+    private final boolean[] acyclic;
+    private final int acyclicCount;
+
+    /**
+     * Initializes new scheduler.
+     *
+     * @param dependencies indexes of tasks each task depends on, indexed by task
+     */
+    DependencyScheduler(int[][] dependencies) {
+        int count = dependencies.length;
+        dependencyCounts = new int[count];
+        List<List<Integer>> dependentLists = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            dependentLists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; ++i) {
+            int[] taskDependencies = Arrays.stream(dependencies[i]).filter(d -> d >= 0 && d < count).distinct()
+                    .toArray();
+            for (int dependency : taskDependencies) {
+                if (dependency != i) {
+                    dependentLists.get(dependency).add(i);
+                    ++dependencyCounts[i];
+                }
+            }
+        }
+        dependents = new int[count][];
+        for (int i = 0; i < count; ++i) {
+            dependents[i] = dependentLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        acyclic = new boolean[count];
+        int[] remaining = dependencyCounts.clone();
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < count; ++i) {
+            if (0 == remaining[i]) {
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int task = queue[head++];
+            acyclic[task] = true;
+            for (int dependent : dependents[task]) {
+                if (0 == --remaining[dependent]) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+        acyclicCount = tail;
+    }
+
+    /**
+     * Runs all tasks and waits for their completion.
+     *
+     * @param task     task body, accepts task index
+     * @param executor executor used to run tasks
+     * @return failures of tasks indexed by task, null for succeeded tasks
+     * @throws InterruptedException if current thread is interrupted while waiting
+     */
+    Throwable[] run(IntConsumer task, Executor executor) throws InterruptedException {
+        int count = dependencyCounts.length;
+        Throwable[] failures = new Throwable[count];
+        AtomicIntegerArray remaining = new AtomicIntegerArray(dependencyCounts);
+        CountDownLatch latch = new CountDownLatch(acyclicCount);
+        for (int i = 0; i < count; ++i) {
+            if (0 == dependencyCounts[i]) {
+                submit(i, task, executor, remaining, failures, latch);
+            }
+        }
+        latch.await();
+        for (int i = 0; i < count; ++i) {
+            if (!acyclic[i]) {
+                runTask(i, task, failures);
+            }
+        }
+        return failures;
+    }
+
+    private void submit(int index, IntConsumer task, Executor executor, AtomicIntegerArray remaining,
+                        Throwable[] failures, CountDownLatch latch) {
+        Runnable runnable = () -> {
+            try {
+                runTask(index, task, failures);
+            } finally {
+                for (int dependent : dependents[index]) {
+                    if (acyclic[dependent] && 0 == remaining.decrementAndGet(dependent)) {
+                        submit(dependent, task, executor, remaining, failures, latch);
+                    }
+                }
+                latch.countDown();
+            }
+        };
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            runnable.run();
+        }
+    }
+
+    private static void runTask(int index, IntConsumer task, Throwable[] failures) {
+        try {
+            task.accept(index);
+        } catch (Throwable e) {
+            failures[index] = e;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package name.codemax.mininject.injector;
+
+/**
+ * Bean factory generated at compile time by MinInject annotation processor. Instantiates bean and performs its
+ * member injection without reflection. Generated factory for bean class {@code a.b.Outer.Bean} is named after its
+ * binary name, i.e. {@code a.b.Outer$Bean_MinInjectFactory}, implements this interface parameterized by the bean
+ * class and must have public no-argument constructor.
+ *
+ * @param <T> bean type
+ * @author Maksim Osipov
+ */
+public interface GeneratedBeanFactory<T> {
+    /**
+     * Suffix of generated factory class name.
+     */
+    String CLASS_NAME_SUFFIX = "_MinInjectFactory";
+
+    /**
+     * Creates new bean instance using {@link javax.inject.Inject} annotated or default constructor.
+     *
+     * @param context injection context used to resolve constructor parameters
+     * @return new bean instance
+     * @throws Exception if constructor throws an exception
+     */
+    T create(InjectionContext context) throws Exception;
+
+    /**
+     * Injects {@link javax.inject.Inject} annotated fields and calls annotated methods of specified bean.
+     *
+     * @param bean    bean to be initialized
+     * @param context injection context used to resolve injected values
+     * @throws Exception if an annotated method throws an exception
+     */
+    void inject(T bean, InjectionContext context) throws Exception;
+}
@@ -0,0 +1,194 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds dependency graph of classes bound by {@link BeanInjector} from their injection plans and definitions
+ * registered in container, without creating any bean. Reports all missing and ambiguous dependencies, non-instantiable
+ * classes and dependency cycles at once. Cycle is an error if each its edge creates a bean: constructor dependency or
+ * member dependency on non-singleton. Dependencies supplied by bean resolvers (e.g. lists and providers) and beans
+ * created by generated factories are not inspected. Once graph is valid, unnamed injection points resolved to
+ * container definitions are linked to them directly.
+ *
+ * @author Maksim Osipov
+ */
+final class GraphValidator {
+    private static final class Edge {
+        private final Class<?> target;
+        private final boolean creating;
+
+        private Edge(Class<?> target, boolean creating) {
+            this.target = target;
+            this.creating = creating;
+        }
+    }
+
+    private final BeanInitializer initializer;
+    private final ConfigurableBeanContainer container;
+    private final Map<String, Class<?>> implementations = new LinkedHashMap<>();
+    private final Map<Class<?>, List<Edge>> graph = new LinkedHashMap<>();
+    private final Set<String> problems = new LinkedHashSet<>();
+    private final List<InjectionPoint> linkedPoints = new ArrayList<>();
+
+    /**
+     * Initializes new validator.
+     *
+     * @param initializer     initializer holding injection plans
+     * @param implementations classes registered in container by injector under their names
+     */
+    GraphValidator(BeanInitializer initializer, Collection<Class<?>> implementations) {
+        this.initializer = initializer;
+        this.container = initializer.getBeanContainer();
+        for (Class<?> implementation : implementations) {
+            this.implementations.put(implementation.getName(), implementation);
+        }
+    }
+
+    /**
+     * Validates graph of registered classes and links their injection points.
+     *
+     * @throws InjectionException describing all found problems
+     */
+    void validate() {
+        Deque<Class<?>> queue = new ArrayDeque<>(implementations.values());
+        while (!queue.isEmpty()) {
+            Class<?> beanClass = queue.poll();
+            if (graph.containsKey(beanClass)) {
+                continue;
+            }
+            List<Edge> edges = visit(beanClass);
+            graph.put(beanClass, edges);
+            for (Edge edge : edges) {
+                queue.add(edge.target);
+            }
+        }
+        findCycles();
+        if (!problems.isEmpty()) {
+            throw new InjectionException(String.format("Dependency graph validation failed with %d problem(s):%n%s",
+                    problems.size(), String.join(System.lineSeparator(), problems)));
+        }
+        for (InjectionPoint point : linkedPoints) {
+            initializer.link(point);
+        }
+    }
+
+    private List<Edge> visit(Class<?> beanClass) {
+        List<Edge> edges = new ArrayList<>();
+        InjectionPlan<?> plan;
+        try {
+            plan = initializer.getPlan(beanClass);
+        } catch (InjectionException e) {
+            problems.add(e.getMessage());
+            return edges;
+        }
+        if (null != plan.getGeneratedFactory()) {
+            return edges;
+        }
+        if (null != plan.getConstructorError()) {
+            problems.add(plan.getConstructorError());
+        } else {
+            for (InjectionPoint parameter : plan.getConstructorParameters()) {
+                addEdge(edges, beanClass, parameter, true);
+            }
+        }
+        for (InjectionPlan.FieldInjection field : plan.getFields()) {
+            addEdge(edges, beanClass, field.getPoint(), false);
+        }
+        for (InjectionPlan.MethodInjection method : plan.getMethods()) {
+            for (InjectionPoint parameter : method.getParameters()) {
+                addEdge(edges, beanClass, parameter, false);
+            }
+        }
+        return edges;
+    }
+
+    private void addEdge(List<Edge> edges, Class<?> beanClass, InjectionPoint point, boolean constructor) {
+        Class<?> type = point.getRawClass();
+        if (!point.isNamed() && initializer.hasResolvers(type)) {
+            return;
+        }
+        String name = point.isNamed() ? point.getName() : type.getName();
+        List<String> names = null;
+        if (!point.isNamed() && point.getKey().isParameterized()) {
+            names = container.getDefinitionNames(point.getKey().getName());
+            if (null != names && !names.isEmpty()) {
+                name = point.getKey().getName();
+            }
+        }
+        if (null == names || names.isEmpty()) {
+            names = container.getDefinitionNames(name);
+        }
+        if (null == names) {
+            return;
+        }
+        if (names.size() > 1) {
+            problems.add(String.format("Unable to resolve bean %s required by %s due to there are more than one " +
+                    "implementation registered: %s.", name, beanClass.getName(), String.join(", ", names)));
+            return;
+        }
+        Class<?> target;
+        if (names.isEmpty()) {
+            if (point.isNamed() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                problems.add(String.format("Unable to resolve bean %s required by %s due to there is no such bean " +
+                        "registered.", name, beanClass.getName()));
+                return;
+            }
+            target = type;
+        } else {
+            target = implementations.get(names.get(0));
+            if (!point.isNamed() && !point.getKey().isParameterized()) {
+                linkedPoints.add(point);
+            }
+        }
+        if (null == target) {
+            return;
+        }
+        if (!type.isAssignableFrom(target)) {
+            problems.add(String.format("Unable to resolve bean %s required by %s due to %s is not of type %s.", name,
+                    beanClass.getName(), target.getName(), type.getName()));
+            return;
+        }
+        edges.add(new Edge(target, constructor || !initializer.isSingleton(target)));
+    }
+
+    private void findCycles() {
+        Set<Class<?>> visited = new LinkedHashSet<>();
+        List<Class<?>> path = new ArrayList<>();
+        for (Class<?> beanClass : graph.keySet()) {
+            findCycles(beanClass, visited, path);
+        }
+    }
+
+    private void findCycles(Class<?> beanClass, Set<Class<?>> visited, List<Class<?>> path) {
+        int index = path.indexOf(beanClass);
+        if (index >= 0) {
+            List<Class<?>> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(beanClass);
+            problems.add(String.format(
+                    "Unable to resolve bean %s due to cyclic reference on itself in dependencies: %s.",
+                    beanClass.getName(), BeanInitializer.getCyclePath(cycle.toArray(new Class<?>[0]))));
+            return;
+        }
+        if (!visited.add(beanClass)) {
+            return;
+        }
+        path.add(beanClass);
+        for (Edge edge : graph.getOrDefault(beanClass, List.of())) {
+            if (edge.creating) {
+                findCycles(edge.target, visited, path);
+            }
+        }
+        path.remove(path.size() - 1);
+    }
+}
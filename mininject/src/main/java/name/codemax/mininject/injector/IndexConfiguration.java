@@ -0,0 +1,108 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.BeanBatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binds beans listed in build-time bean indexes ({@value #INDEX_FILE} resources) written by
+ * {@code name.codemax.mininject.processor.IndexProcessor}. Each bean is bound to its class name, to the value of its
+ * {@code Named} annotation and to all its superclasses and interfaces except types of {@code java} and {@code javax}
+ * packages, which are skipped even if listed by index written by older processor. Every index is read at once, classes
+ * are loaded without initialization. Beans of each index are published to container by a single call, see
+ * {@link name.codemax.mininject.container.ConfigurableBeanContainer#registerAll(BeanBatch)}.
+ *
+ * @author Maksim Osipov
+ */
+public class IndexConfiguration implements InjectorConfiguration {
+    public static final String INDEX_FILE = "META-INF/mininject/beans.idx";
+
+    private final ClassLoader classLoader;
+
+    /**
+     * Initializes new instance reading indexes using context class loader of current thread.
+     */
+    public IndexConfiguration() {
+        this(null == Thread.currentThread().getContextClassLoader()
+                ? IndexConfiguration.class.getClassLoader()
+                : Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Initializes new instance reading indexes and loading bean classes using specified class loader.
+     *
+     * @param classLoader class loader
+     */
+    public IndexConfiguration(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader);
+    }
+
+    @Override
+    public void configure(BeanInjector injector) {
+        Enumeration<URL> indexes;
+        try {
+            indexes = classLoader.getResources(INDEX_FILE);
+        } catch (IOException e) {
+            throw new InjectionException("Unable to find bean indexes: " + e.getMessage(), e);
+        }
+        while (indexes.hasMoreElements()) {
+            URL index = indexes.nextElement();
+            byte[] content;
+            try (InputStream stream = index.openStream()) {
+                content = stream.readAllBytes();
+            } catch (IOException e) {
+                throw new InjectionException("Unable to read bean index " + index + ": " + e.getMessage(), e);
+            }
+            configure(injector, new String(content, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void configure(BeanInjector injector, String index) {
+        int lineCount = 1;
+        for (int i = index.indexOf('\n'); i >= 0; i = index.indexOf('\n', i + 1)) {
+            ++lineCount;
+        }
+        // Each bean is usually bound to its name and a couple of supertypes.
+        BeanBatch batch = new BeanBatch(lineCount, 3 * lineCount);
+        List<String> names = new ArrayList<>();
+        for (int start = 0, end; start < index.length(); start = end + 1) {
+            end = index.indexOf('\n', start);
+            if (end < 0) {
+                end = index.length();
+            }
+            String line = index.substring(start, end).trim();
+            if (line.isEmpty() || '#' == line.charAt(0)) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            names.clear();
+            if (fields.length > 1 && !fields[1].isEmpty()) {
+                names.add(fields[1]);
+            }
+            if (fields.length > 2 && !fields[2].isEmpty()) {
+                for (String supertype : fields[2].split(" ")) {
+                    if (!supertype.startsWith("java.") && !supertype.startsWith("javax.")) {
+                        names.add(supertype);
+                    }
+                }
+            }
+            injector.bind(loadClass(fields[0]), null, names, batch);
+        }
+        injector.registerAll(batch);
+    }
+
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new InjectionException("Unable to load bean class " + name + " listed in bean index.", e);
+        }
+    }
+}
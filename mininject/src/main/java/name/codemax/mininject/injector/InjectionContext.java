@@ -0,0 +1,52 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.util.TypeKey;
+
+import java.lang.reflect.Type;
+
+/**
+ * Resolves values of injection points. Passed to {@link GeneratedBeanFactory} instances, so generated code resolves
+ * dependencies exactly as reflection-based injection does, and to bean resolvers.
+ *
+ * @author Maksim Osipov
+ */
+public interface InjectionContext {
+    /**
+     * Resolves bean of specified type using registered bean resolvers and application bean container, or creates new
+     * instance if no bean is registered.
+     *
+     * @param type bean type, class or parameterized type
+     * @param <T>  bean type
+     * @return resolved bean
+     */
+    <T> T resolve(Type type);
+
+    /**
+     * Resolves bean of type represented by specified key, see {@link #resolve(Type)}.
+     *
+     * @param key type key
+     * @param <T> bean type
+     * @return resolved bean
+     */
+    default <T> T resolve(TypeKey key) {
+        return resolve(key.getType());
+    }
+
+    /**
+     * Resolves named bean and checks it is instance of specified type.
+     *
+     * @param name bean name
+     * @param type bean type
+     * @param <T>  bean type
+     * @return resolved bean
+     */
+    <T> T resolve(String name, Type type);
+
+    /**
+     * Returns application bean container used for resolution.
+     *
+     * @return bean container
+     */
+    ListableBeanContainer getContainer();
+}
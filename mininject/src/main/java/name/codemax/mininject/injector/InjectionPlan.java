@@ -0,0 +1,422 @@
+package name.codemax.mininject.injector;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable description of how beans of some class are instantiated and initialized. Holds chosen constructor with
+ * its injection points, {@link Inject} annotated fields and methods. Computed once per class, so no reflective
+ * scanning is performed when beans are created. If compile-time {@link GeneratedBeanFactory} is available for bean
+ * class, plan delegates to it and holds no reflective members.
+ *
+ * @author Maksim Osipov
+ */
+final class InjectionPlan<T> {
+    static final class FieldInjection {
+        private final Field field;
+        private final InjectionPoint point;
+        private final MemberAccessorFactory.FieldAccessor accessor;
+
+        private FieldInjection(Field field, MemberAccessorFactory accessorFactory) {
+            this(field, InjectionPoint.of(field), accessorFactory);
+        }
+
+        FieldInjection(Field field, String name, MemberAccessorFactory accessorFactory) {
+            this(field, InjectionPoint.of(field, name), accessorFactory);
+        }
+
+        private FieldInjection(Field field, InjectionPoint point, MemberAccessorFactory accessorFactory) {
+            this.field = field;
+            this.point = point;
+            this.accessor = link(field, accessorFactory);
+        }
+
+        static MemberAccessorFactory.FieldAccessor link(Field field, MemberAccessorFactory accessorFactory) {
+            try {
+                return accessorFactory.link(field);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new InjectionException(String.format("Unable to inject value of field %s: %s",
+                        field.getDeclaringClass().getName() + '#' + field.getName(), e.getMessage()), e);
+            }
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        MemberAccessorFactory.FieldAccessor getAccessor() {
+            return accessor;
+        }
+
+        InjectionPoint getPoint() {
+            return point;
+        }
+    }
+
+    static final class MethodInjection {
+        private final Method method;
+        private final InjectionPoint[] parameters;
+        private final MemberAccessorFactory.MethodAccessor accessor;
+
+        private MethodInjection(Method method, MemberAccessorFactory accessorFactory) {
+            this(method, InjectionPoint.of(method), accessorFactory);
+        }
+
+        MethodInjection(Method method, String[] names, MemberAccessorFactory accessorFactory) {
+            this(method, InjectionPoint.of(method, names), accessorFactory);
+        }
+
+        private MethodInjection(Method method, InjectionPoint[] parameters, MemberAccessorFactory accessorFactory) {
+            this.method = method;
+            this.parameters = parameters;
+            this.accessor = link(method, accessorFactory);
+        }
+
+        static MemberAccessorFactory.MethodAccessor link(Method method, MemberAccessorFactory accessorFactory) {
+            try {
+                return accessorFactory.link(method);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new InjectionException(String.format("Unable to call @Inject method %s: %s",
+                        method.getDeclaringClass().getName() + '#' + method.getName(), e.getMessage()), e);
+            }
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        MemberAccessorFactory.MethodAccessor getAccessor() {
+            return accessor;
+        }
+
+        InjectionPoint[] getParameters() {
+            return parameters;
+        }
+    }
+
+    private final Class<T> beanClass;
+    private final boolean singleton;
+    private final Constructor<T> constructor;
+    private final MemberAccessorFactory.ConstructorAccessor<T> constructorAccessor;
+    private final InjectionPoint[] constructorParameters;
+    private final String constructorError;
+    private final FieldInjection[] fields;
+    private final MethodInjection[] methods;
+    private final GeneratedBeanFactory<T> generatedFactory;
+
+    private InjectionPlan(Class<T> beanClass, GeneratedBeanFactory<T> generatedFactory) {
+        this(beanClass, beanClass.isAnnotationPresent(Singleton.class), generatedFactory);
+    }
+
+    private InjectionPlan(Class<T> beanClass, boolean singleton, GeneratedBeanFactory<T> generatedFactory) {
+        this.beanClass = beanClass;
+        this.generatedFactory = generatedFactory;
+        this.singleton = singleton;
+        constructor = null;
+        constructorAccessor = null;
+        constructorParameters = null;
+        constructorError = null;
+        fields = new FieldInjection[0];
+        methods = new MethodInjection[0];
+    }
+
+    private InjectionPlan(Class<T> beanClass, boolean singleton, Constructor<T> injectConstructor,
+                          String[] constructorNames, String error, FieldInjection[] fields, MethodInjection[] methods,
+                          MemberAccessorFactory accessorFactory) {
+        this.beanClass = beanClass;
+        this.singleton = singleton;
+        this.fields = fields;
+        this.methods = methods;
+        generatedFactory = null;
+        MemberAccessorFactory.ConstructorAccessor<T> accessor = null;
+        if (null != injectConstructor) {
+            try {
+                accessor = accessorFactory.link(injectConstructor);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                error = String.format("Unable to instantiate bean %s: %s", beanClass.getName(), e.getMessage());
+            }
+        }
+        constructor = null == accessor ? null : injectConstructor;
+        constructorAccessor = accessor;
+        constructorError = error;
+        constructorParameters = null == accessor ? null : InjectionPoint.of(injectConstructor, constructorNames);
+    }
+
+    private InjectionPlan(Class<T> beanClass, MemberAccessorFactory accessorFactory) {
+        this.beanClass = beanClass;
+        generatedFactory = null;
+        singleton = beanClass.isAnnotationPresent(Singleton.class);
+        String error = null;
+        Constructor<T> injectConstructor = null;
+        MemberAccessorFactory.ConstructorAccessor<T> accessor = null;
+        if (beanClass.isInterface()) {
+            error = String.format("Unable to call bean constructor due to %s is interface.", beanClass.getName());
+        } else if (Modifier.isAbstract(beanClass.getModifiers())) {
+            error = String.format("Unable to call bean constructor due to %s is abstract.", beanClass.getName());
+        } else {
+            try {
+                injectConstructor = getInjectConstructor(beanClass);
+                accessor = accessorFactory.link(injectConstructor);
+            } catch (InjectionException e) {
+                error = e.getMessage();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                error = String.format("Unable to instantiate bean %s: %s", beanClass.getName(), e.getMessage());
+            }
+        }
+        constructor = null == accessor ? null : injectConstructor;
+        constructorAccessor = accessor;
+        constructorError = error;
+        constructorParameters = null == accessor ? null : InjectionPoint.of(injectConstructor);
+        fields = getInjectFields(beanClass, accessorFactory);
+        methods = getInjectMethods(beanClass, accessorFactory);
+    }
+
+    static <T> InjectionPlan<T> create(Class<T> beanClass, MemberAccessorFactory accessorFactory) {
+        GeneratedBeanFactory<T> generatedFactory = findGeneratedFactory(beanClass);
+        if (null != generatedFactory) {
+            return new InjectionPlan<>(beanClass, generatedFactory);
+        }
+        return new InjectionPlan<>(beanClass, accessorFactory);
+    }
+
+    /**
+     * Creates plan from already known members, e.g. read from {@link PlanSnapshot}, without scanning annotations of
+     * bean class.
+     *
+     * @param beanClass        bean class
+     * @param singleton        whether bean class is {@link Singleton} annotated
+     * @param constructor      constructor used for bean instantiation or null if bean class is not instantiable
+     * @param constructorNames bean names of constructor parameters, null for parameters which are not named
+     * @param constructorError message of error thrown on instantiation if constructor is null
+     * @param fields           injected fields
+     * @param methods          injected methods
+     * @param accessorFactory  factory of member accessors
+     * @param <T>              bean type
+     * @return injection plan
+     */
+    static <T> InjectionPlan<T> restore(Class<T> beanClass, boolean singleton, Constructor<T> constructor,
+                                        String[] constructorNames, String constructorError, FieldInjection[] fields,
+                                        MethodInjection[] methods, MemberAccessorFactory accessorFactory) {
+        return new InjectionPlan<>(beanClass, singleton, constructor, constructorNames, constructorError, fields,
+                methods, accessorFactory);
+    }
+
+    /**
+     * Creates plan delegating to compile-time generated factory, without scanning annotations of bean class.
+     *
+     * @param beanClass bean class
+     * @param singleton whether bean class is {@link Singleton} annotated
+     * @param <T>       bean type
+     * @return injection plan or null if generated factory of bean class is not found
+     */
+    static <T> InjectionPlan<T> restoreGenerated(Class<T> beanClass, boolean singleton) {
+        GeneratedBeanFactory<T> generatedFactory = findGeneratedFactory(beanClass);
+        return null == generatedFactory ? null : new InjectionPlan<>(beanClass, singleton, generatedFactory);
+    }
+
+    private static boolean isFactoryOf(Class<?> factoryClass, Class<?> beanClass) {
+        for (Type type : factoryClass.getGenericInterfaces()) {
+            if (type instanceof ParameterizedType) {
+                ParameterizedType factoryType = (ParameterizedType) type;
+                if (GeneratedBeanFactory.class == factoryType.getRawType()) {
+                    return beanClass == factoryType.getActualTypeArguments()[0];
+                }
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> GeneratedBeanFactory<T> findGeneratedFactory(Class<T> beanClass) {
+        if (beanClass.isInterface() || beanClass.isArray() || beanClass.isPrimitive() || beanClass.isAnonymousClass()) {
+            return null;
+        }
+        String factoryName = beanClass.getName() + GeneratedBeanFactory.CLASS_NAME_SUFFIX;
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(factoryName, false, beanClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!isFactoryOf(factoryClass, beanClass)) {
+            // Class of the same name which is not a factory of this bean class, reflection is used instead.
+            return null;
+        }
+        try {
+            return (GeneratedBeanFactory<T>) factoryClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new InjectionException(String.format("Unable to instantiate generated factory %s: %s",
+                    factoryName, e.getMessage()), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<T> getInjectConstructor(Class<T> beanClass) {
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+        if (0 == constructors.length) {
+            throw new InjectionException(String.format(
+                    "Unable to instantiate bean %s due to it has no constructors.", beanClass.getName()));
+        }
+        Constructor<?> injectConstructor = null;
+        Constructor<?> defaultConstructor = null;
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.isAnnotationPresent(Inject.class)) {
+                if (null != injectConstructor) {
+                    throw new InjectionException(String.format(
+                            "Unable to instantiate bean %s due to it has more than one @Inject constructor.",
+                            beanClass.getName()));
+                }
+                injectConstructor = constructor;
+            } else if (null == defaultConstructor && 0 == constructor.getParameterCount()) {
+                defaultConstructor = constructor;
+            }
+        }
+        if (null == injectConstructor) {
+            if (null == defaultConstructor) {
+                throw new InjectionException(String.format(
+                        "Unable to instantiate bean %s due to it has nor default neither @Inject constructor.",
+                        beanClass.getName()));
+            }
+            injectConstructor = defaultConstructor;
+        }
+        return (Constructor<T>) injectConstructor;
+    }
+
+    private static FieldInjection[] getInjectFields(Class<?> beanClass, MemberAccessorFactory accessorFactory) {
+        List<FieldInjection> injections = new ArrayList<>();
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                injections.add(new FieldInjection(field, accessorFactory));
+            }
+        }
+        return injections.toArray(new FieldInjection[0]);
+    }
+
+    private static MethodInjection[] getInjectMethods(Class<?> beanClass, MemberAccessorFactory accessorFactory) {
+        List<MethodInjection> injections = new ArrayList<>();
+        for (Method method : beanClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Inject.class)) {
+                injections.add(new MethodInjection(method, accessorFactory));
+            }
+        }
+        return injections.toArray(new MethodInjection[0]);
+    }
+
+    Class<T> getBeanClass() {
+        return beanClass;
+    }
+
+    boolean isSingleton() {
+        return singleton;
+    }
+
+    /**
+     * Returns constructor used for bean instantiation.
+     *
+     * @return bean constructor
+     * @throws InjectionException if bean class is not instantiable
+     */
+    Constructor<T> getConstructor() {
+        if (null == constructor) {
+            throw new InjectionException(constructorError);
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns accessor linked to bean constructor.
+     *
+     * @return constructor accessor
+     * @throws InjectionException if bean class is not instantiable
+     */
+    MemberAccessorFactory.ConstructorAccessor<T> getConstructorAccessor() {
+        if (null == constructorAccessor) {
+            throw new InjectionException(constructorError);
+        }
+        return constructorAccessor;
+    }
+
+    /**
+     * Returns message of error thrown on instantiation of bean class which is not instantiable.
+     *
+     * @return error message or null if bean class is instantiable
+     */
+    String getConstructorError() {
+        return constructorError;
+    }
+
+    InjectionPoint[] getConstructorParameters() {
+        return constructorParameters;
+    }
+
+    /**
+     * Returns compile-time generated factory of bean class.
+     *
+     * @return generated factory or null if plan is based on reflection
+     */
+    GeneratedBeanFactory<T> getGeneratedFactory() {
+        return generatedFactory;
+    }
+
+    FieldInjection[] getFields() {
+        return fields;
+    }
+
+    MethodInjection[] getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns raw classes of unnamed injection points of fields and methods, i.e. types of beans which are injected
+     * into existing bean instance.
+     *
+     * @return member dependency classes
+     */
+    Set<Class<?>> getMemberDependencies() {
+        return addMemberDependencies(new LinkedHashSet<>());
+    }
+
+    /**
+     * Returns raw classes of unnamed injection points of constructor, fields and methods, i.e. types of all beans
+     * required to create and initialize bean. Dependencies of beans created by generated factories are unknown.
+     *
+     * @return dependency classes
+     */
+    Set<Class<?>> getDependencies() {
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        if (null != constructorParameters) {
+            for (InjectionPoint parameter : constructorParameters) {
+                if (!parameter.isNamed()) {
+                    dependencies.add(parameter.getRawClass());
+                }
+            }
+        }
+        return addMemberDependencies(dependencies);
+    }
+
+    private Set<Class<?>> addMemberDependencies(Set<Class<?>> dependencies) {
+        for (FieldInjection field : fields) {
+            if (!field.getPoint().isNamed()) {
+                dependencies.add(field.getPoint().getRawClass());
+            }
+        }
+        for (MethodInjection method : methods) {
+            for (InjectionPoint parameter : method.getParameters()) {
+                if (!parameter.isNamed()) {
+                    dependencies.add(parameter.getRawClass());
+                }
+            }
+        }
+        return dependencies;
+    }
+}
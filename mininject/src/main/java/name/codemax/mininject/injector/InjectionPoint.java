@@ -0,0 +1,164 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.util.TypeKey;
+
+import javax.inject.Named;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * Describes a single injectable value: a field or a parameter of an {@link javax.inject.Inject} constructor or method.
+ * Holds the generic type of the value and the name from {@link Named} annotation, if any.
+ *
+ * @author Maksim Osipov
+ */
+final class InjectionPoint {
+    private static final InjectionPoint[] EMPTY = new InjectionPoint[0];
+
+    /**
+     * Supplier created by bean resolver for this injection point, bound to version of resolvers set it was created for.
+     * Linked supplier is not created by resolver but linked to container bean definition by graph validation.
+     */
+    static final class ResolverSupplier {
+        private final int version;
+        private final Supplier<?> supplier;
+        private final boolean linked;
+
+        ResolverSupplier(int version, Supplier<?> supplier) {
+            this(version, supplier, false);
+        }
+
+        ResolverSupplier(int version, Supplier<?> supplier, boolean linked) {
+            this.version = version;
+            this.supplier = supplier;
+            this.linked = linked;
+        }
+
+        int getVersion() {
+            return version;
+        }
+
+        Supplier<?> getSupplier() {
+            return supplier;
+        }
+
+        boolean isLinked() {
+            return linked;
+        }
+    }
+
+    private final Type type;
+    private final Class<?> rawClass;
+    private final TypeKey key;
+    private final String name;
+    private volatile ResolverSupplier resolverSupplier;
+
+    private InjectionPoint(Type type, Class<?> rawClass, String name) {
+        this.type = type;
+        this.rawClass = rawClass;
+        this.key = TypeKey.of(type);
+        this.name = name;
+    }
+
+    static InjectionPoint of(Field field) {
+        Named named = field.getAnnotation(Named.class);
+        return of(field, null == named ? null : named.value());
+    }
+
+    /**
+     * Creates injection point of field with already known bean name, without reading field annotations.
+     *
+     * @param field field
+     * @param name  bean name or null if injection point is not named
+     * @return injection point
+     */
+    static InjectionPoint of(Field field, String name) {
+        return new InjectionPoint(field.getGenericType(), field.getType(), name);
+    }
+
+    static InjectionPoint[] of(Executable executable) {
+        if (0 == executable.getParameterCount()) {
+            return EMPTY;
+        }
+        Annotation[][] annotations = executable.getParameterAnnotations();
+        String[] names = new String[annotations.length];
+        for (int i = 0; i < annotations.length; ++i) {
+            names[i] = getName(annotations[i]);
+        }
+        return of(executable, names);
+    }
+
+    /**
+     * Creates injection points of parameters with already known bean names, without reading parameter annotations.
+     *
+     * @param executable constructor or method
+     * @param names      bean names indexed by parameter, null for parameters which are not named
+     * @return injection points
+     */
+    static InjectionPoint[] of(Executable executable, String[] names) {
+        Class<?>[] classes = executable.getParameterTypes();
+        if (0 == classes.length) {
+            return EMPTY;
+        }
+        Type[] types = executable.getGenericParameterTypes();
+        if (types.length != classes.length) {
+            // Synthetic parameters (e.g. outer instance of inner class) are not reflected in generic signature.
+            types = classes;
+        }
+        InjectionPoint[] points = new InjectionPoint[classes.length];
+        for (int i = 0; i < classes.length; ++i) {
+            points[i] = new InjectionPoint(types[i], classes[i], i < names.length ? names[i] : null);
+        }
+        return points;
+    }
+
+    private static String getName(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Named) {
+                return ((Named) annotation).value();
+            }
+        }
+        return null;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    Class<?> getRawClass() {
+        return rawClass;
+    }
+
+    /**
+     * Returns interned key of injection point type, computed once.
+     *
+     * @return type key
+     */
+    TypeKey getKey() {
+        return key;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isNamed() {
+        return null != name;
+    }
+
+    ResolverSupplier getResolverSupplier() {
+        return resolverSupplier;
+    }
+
+    void setResolverSupplier(ResolverSupplier resolverSupplier) {
+        this.resolverSupplier = resolverSupplier;
+    }
+
+    @Override
+    public String toString() {
+        return null == name ? type.getTypeName() : type.getTypeName() + " @Named(" + name + ')';
+    }
+}
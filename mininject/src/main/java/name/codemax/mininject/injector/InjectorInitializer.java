@@ -3,6 +3,7 @@ package name.codemax.mininject.injector;
 import name.codemax.mininject.container.ConfigurableBeanContainer;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * @author Maksim Osipov
@@ -31,10 +32,40 @@ public class InjectorInitializer {
         }
     }
 
+    /**
+     * Enables validation of dependency graph built from applied configurations before initial dependency injection.
+     *
+     * @see BeanInjector#validate()
+     */
+    public void enableValidation() {
+        injector.enableValidation();
+    }
+
     /**
      * Performs initial dependency injection according to applied configurations.
      */
     public void perform() {
         injector.perform();
     }
+
+    /**
+     * Performs initial dependency injection according to applied configurations in parallel using specified
+     * executor.
+     *
+     * @param executor executor used for injection
+     */
+    public void perform(Executor executor) {
+        injector.perform(executor);
+    }
+
+    /**
+     * Performs initial dependency injection according to applied configurations and eagerly creates all singletons
+     * in parallel using specified executor.
+     *
+     * @param executor executor used for injection and singletons creation
+     * @return warm-up time report
+     */
+    public WarmUpReport performWithWarmUp(Executor executor) {
+        return injector.performWithWarmUp(executor);
+    }
 }
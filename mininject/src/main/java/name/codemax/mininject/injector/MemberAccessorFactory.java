@@ -0,0 +1,33 @@
+package name.codemax.mininject.injector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Links constructors, fields and methods of bean classes into accessors used for instantiation and injection.
+ * Linking is performed once per member, when injection plan of bean class is created. Accessors report exceptions
+ * thrown by the member itself as {@link InvocationTargetException}, as reflection API does.
+ *
+ * @author Maksim Osipov
+ */
+interface MemberAccessorFactory {
+    interface ConstructorAccessor<T> {
+        T newInstance(Object[] arguments) throws ReflectiveOperationException;
+    }
+
+    interface FieldAccessor {
+        void set(Object target, Object value) throws ReflectiveOperationException;
+    }
+
+    interface MethodAccessor {
+        void invoke(Object target, Object[] arguments) throws ReflectiveOperationException;
+    }
+
+    <T> ConstructorAccessor<T> link(Constructor<T> constructor) throws ReflectiveOperationException;
+
+    FieldAccessor link(Field field) throws ReflectiveOperationException;
+
+    MethodAccessor link(Method method) throws ReflectiveOperationException;
+}
@@ -0,0 +1,154 @@
+package name.codemax.mininject.injector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Accessor factory based on {@link MethodHandle}s. Each member is unreflected once and adapted to generic
+ * {@code (Object, Object[])} shape, so invocation is a single {@link MethodHandle#invokeExact} call without access
+ * checks. Handles are held in instance fields of accessors, so JIT compiler does not constant-fold them: invocation
+ * is an indirect call through the handle rather than a direct call of the member.
+ * <p>
+ * Only exceptions thrown by the member itself are wrapped into {@link InvocationTargetException}, the wrapping is part
+ * of the handle and surrounds the member only. Errors and exceptions of handle adaptation, e.g.
+ * {@link ClassCastException} caused by argument of wrong type, are propagated as is.
+ *
+ * @author Maksim Osipov
+ */
+final class MethodHandleAccessorFactory implements MemberAccessorFactory {
+    static final MethodHandleAccessorFactory INSTANCE = new MethodHandleAccessorFactory();
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = MethodHandles.lookup().findStatic(MethodHandleAccessorFactory.class, "wrapException",
+                    MethodType.methodType(Object.class, Exception.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private MethodHandleAccessorFactory() {
+    }
+
+    private static final class HandleConstructorAccessor<T> implements ConstructorAccessor<T> {
+        private final MethodHandle handle;
+
+        private HandleConstructorAccessor(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T newInstance(Object[] arguments) throws InvocationTargetException {
+            try {
+                return (T) (Object) handle.invokeExact(arguments);
+            } catch (InvocationTargetException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+
+    private static final class HandleFieldAccessor implements FieldAccessor {
+        private final MethodHandle handle;
+
+        private HandleFieldAccessor(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            try {
+                handle.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+
+    private static final class HandleMethodAccessor implements MethodAccessor {
+        private final MethodHandle handle;
+
+        private HandleMethodAccessor(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public void invoke(Object target, Object[] arguments) throws InvocationTargetException {
+            try {
+                handle.invokeExact(target, arguments);
+            } catch (InvocationTargetException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+
+    private static Object wrapException(Exception e) throws InvocationTargetException {
+        throw new InvocationTargetException(e);
+    }
+
+    /**
+     * Makes handle report exceptions thrown by the member as {@link InvocationTargetException}. Must be applied to
+     * unreflected handle before it is adapted, so adaptation failures are not reported as thrown by the member.
+     *
+     * @param handle unreflected handle
+     * @return handle of the same type
+     */
+    private static MethodHandle wrapExceptions(MethodHandle handle) {
+        MethodType type = handle.type();
+        MethodHandle handler = WRAP_EXCEPTION.asType(MethodType.methodType(type.returnType(), Exception.class));
+        handler = MethodHandles.dropArguments(handler, 1, type.parameterList());
+        return MethodHandles.catchException(handle, Exception.class, handler);
+    }
+
+    @Override
+    public <T> ConstructorAccessor<T> link(Constructor<T> constructor) throws IllegalAccessException {
+        constructor.setAccessible(true);
+        MethodHandle handle = wrapExceptions(lookup.unreflectConstructor(constructor));
+        int count = constructor.getParameterCount();
+        handle = handle.asType(MethodType.genericMethodType(count)).asSpreader(Object[].class, count);
+        return new HandleConstructorAccessor<>(handle.asType(CONSTRUCTOR_TYPE));
+    }
+
+    @Override
+    public FieldAccessor link(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        MethodHandle handle = lookup.unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return new HandleFieldAccessor(handle.asType(SETTER_TYPE));
+    }
+
+    @Override
+    public MethodAccessor link(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = wrapExceptions(lookup.unreflect(method));
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        int count = method.getParameterCount();
+        handle = handle.asType(MethodType.genericMethodType(count + 1)).asSpreader(Object[].class, count);
+        return new HandleMethodAccessor(handle.asType(METHOD_TYPE));
+    }
+}
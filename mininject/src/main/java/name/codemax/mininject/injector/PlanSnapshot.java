@@ -0,0 +1,304 @@
+package name.codemax.mininject.injector;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of bindings made by {@link BeanInjector} and injection plans of bound classes. Each class is stored
+ * with CRC32 checksum of its class file, snapshot is considered stale if any class is changed, missing or its members
+ * are not found, or if checksum of sources of bindings, e.g. configurations and bean indexes, differs from the stored
+ * one. Restored plans are built from stored member names and parameter types, so neither constructors
+ * selection nor annotations scanning is performed.
+ *
+ * @author Maksim Osipov
+ */
+final class PlanSnapshot {
+    private static final int MAGIC = 0x4D494E4A;
+    private static final int VERSION = 2;
+    private static final byte REFLECTIVE_PLAN = 0;
+    private static final byte GENERATED_PLAN = 1;
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class, long.class,
+                float.class, double.class}) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    /**
+     * Implementation class bound to bean names, optionally in scope.
+     */
+    static final class Binding {
+        private final Class<?> implementation;
+        private final String scopeName;
+        private final List<String> names;
+
+        Binding(Class<?> implementation, String scopeName, List<String> names) {
+            this.implementation = implementation;
+            this.scopeName = scopeName;
+            this.names = names;
+        }
+
+        Class<?> getImplementation() {
+            return implementation;
+        }
+
+        String getScopeName() {
+            return scopeName;
+        }
+
+        List<String> getNames() {
+            return names;
+        }
+    }
+
+    private final List<InjectionPlan<?>> plans;
+    private final List<Binding> bindings;
+
+    private PlanSnapshot(List<InjectionPlan<?>> plans, List<Binding> bindings) {
+        this.plans = plans;
+        this.bindings = bindings;
+    }
+
+    /**
+     * Supplies restored plans to injector and replays bindings in order they were recorded.
+     *
+     * @param injector bean injector
+     */
+    void apply(BeanInjector injector) {
+        for (InjectionPlan<?> plan : plans) {
+            injector.getInitializer().restorePlan(plan);
+        }
+        for (Binding binding : bindings) {
+            injector.bind(binding.getImplementation(), binding.getScopeName(), binding.getNames());
+        }
+    }
+
+    /**
+     * Writes bindings and injection plans of bound classes.
+     *
+     * @param out            output stream
+     * @param sourceChecksum checksum of sources of bindings
+     * @param bindings       bindings in order they were made
+     * @param initializer    initializer holding injection plans
+     * @param classLoader    class loader used to read class files
+     * @throws IOException if write failed or class file is not found
+     */
+    static void write(DataOutputStream out, long sourceChecksum, List<Binding> bindings, BeanInitializer initializer,
+                      ClassLoader classLoader) throws IOException {
+        Map<Class<?>, Integer> indexes = new LinkedHashMap<>();
+        for (Binding binding : bindings) {
+            indexes.putIfAbsent(binding.getImplementation(), indexes.size());
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceChecksum);
+        out.writeInt(indexes.size());
+        for (Class<?> beanClass : indexes.keySet()) {
+            long checksum = getChecksum(beanClass.getName(), classLoader);
+            if (checksum < 0) {
+                throw new IOException("Class file of " + beanClass.getName() + " is not found.");
+            }
+            out.writeUTF(beanClass.getName());
+            out.writeLong(checksum);
+            writePlan(out, initializer.getPlan(beanClass));
+        }
+        out.writeInt(bindings.size());
+        for (Binding binding : bindings) {
+            out.writeInt(indexes.get(binding.getImplementation()));
+            writeNullable(out, binding.getScopeName());
+            out.writeInt(binding.getNames().size());
+            for (String name : binding.getNames()) {
+                out.writeUTF(name);
+            }
+        }
+    }
+
+    private static void writePlan(DataOutputStream out, InjectionPlan<?> plan) throws IOException {
+        out.writeBoolean(plan.isSingleton());
+        if (null != plan.getGeneratedFactory()) {
+            out.writeByte(GENERATED_PLAN);
+            return;
+        }
+        out.writeByte(REFLECTIVE_PLAN);
+        writeNullable(out, plan.getConstructorError());
+        if (null == plan.getConstructorError()) {
+            writeParameters(out, plan.getConstructor().getParameterTypes(), plan.getConstructorParameters());
+        }
+        out.writeInt(plan.getFields().length);
+        for (InjectionPlan.FieldInjection field : plan.getFields()) {
+            out.writeUTF(field.getField().getName());
+            writeNullable(out, field.getPoint().getName());
+        }
+        out.writeInt(plan.getMethods().length);
+        for (InjectionPlan.MethodInjection method : plan.getMethods()) {
+            out.writeUTF(method.getMethod().getName());
+            writeParameters(out, method.getMethod().getParameterTypes(), method.getParameters());
+        }
+    }
+
+    private static void writeParameters(DataOutputStream out, Class<?>[] types, InjectionPoint[] points)
+            throws IOException {
+        out.writeInt(types.length);
+        for (Class<?> type : types) {
+            out.writeUTF(type.getName());
+        }
+        for (int i = 0; i < types.length; ++i) {
+            writeNullable(out, i < points.length ? points[i].getName() : null);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(null != value);
+        if (null != value) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads snapshot and restores injection plans.
+     *
+     * @param in              input stream
+     * @param sourceChecksum  current checksum of sources of bindings
+     * @param classLoader     class loader used to load classes and read class files
+     * @param accessorFactory factory of member accessors of restored plans
+     * @return snapshot or null if snapshot is stale
+     * @throws IOException if snapshot is malformed or read failed
+     */
+    static PlanSnapshot read(DataInputStream in, long sourceChecksum, ClassLoader classLoader,
+                             MemberAccessorFactory accessorFactory) throws IOException {
+        if (MAGIC != in.readInt() || VERSION != in.readInt()) {
+            throw new IOException("Unsupported format of injection plan snapshot.");
+        }
+        if (sourceChecksum != in.readLong()) {
+            return null;
+        }
+        int classCount = in.readInt();
+        List<InjectionPlan<?>> plans = new ArrayList<>(classCount);
+        try {
+            for (int i = 0; i < classCount; ++i) {
+                String className = in.readUTF();
+                if (in.readLong() != getChecksum(className, classLoader)) {
+                    return null;
+                }
+                InjectionPlan<?> plan = readPlan(in, loadClass(className, classLoader), classLoader,
+                        accessorFactory);
+                if (null == plan) {
+                    return null;
+                }
+                plans.add(plan);
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+        int bindingCount = in.readInt();
+        List<Binding> bindings = new ArrayList<>(bindingCount);
+        for (int i = 0; i < bindingCount; ++i) {
+            int index = in.readInt();
+            if (index < 0 || index >= plans.size()) {
+                throw new IOException("Malformed injection plan snapshot: unknown class index " + index + '.');
+            }
+            String scopeName = readNullable(in);
+            String[] names = new String[in.readInt()];
+            for (int j = 0; j < names.length; ++j) {
+                names[j] = in.readUTF();
+            }
+            bindings.add(new Binding(plans.get(index).getBeanClass(), scopeName, List.of(names)));
+        }
+        return new PlanSnapshot(plans, Collections.unmodifiableList(bindings));
+    }
+
+    private static <T> InjectionPlan<T> readPlan(DataInputStream in, Class<T> beanClass, ClassLoader classLoader,
+                                                 MemberAccessorFactory accessorFactory)
+            throws IOException, ReflectiveOperationException {
+        boolean singleton = in.readBoolean();
+        byte kind = in.readByte();
+        if (GENERATED_PLAN == kind) {
+            return InjectionPlan.restoreGenerated(beanClass, singleton);
+        } else if (REFLECTIVE_PLAN != kind) {
+            throw new IOException("Malformed injection plan snapshot: unknown plan kind " + kind + '.');
+        }
+        String constructorError = readNullable(in);
+        Constructor<T> constructor = null;
+        String[] constructorNames = null;
+        if (null == constructorError) {
+            Class<?>[] types = readParameterTypes(in, classLoader);
+            constructorNames = readParameterNames(in, types.length);
+            constructor = beanClass.getDeclaredConstructor(types);
+        }
+        InjectionPlan.FieldInjection[] fields = new InjectionPlan.FieldInjection[in.readInt()];
+        for (int i = 0; i < fields.length; ++i) {
+            Field field = beanClass.getDeclaredField(in.readUTF());
+            fields[i] = new InjectionPlan.FieldInjection(field, readNullable(in), accessorFactory);
+        }
+        InjectionPlan.MethodInjection[] methods = new InjectionPlan.MethodInjection[in.readInt()];
+        for (int i = 0; i < methods.length; ++i) {
+            String name = in.readUTF();
+            Class<?>[] types = readParameterTypes(in, classLoader);
+            String[] names = readParameterNames(in, types.length);
+            Method method = beanClass.getDeclaredMethod(name, types);
+            methods[i] = new InjectionPlan.MethodInjection(method, names, accessorFactory);
+        }
+        return InjectionPlan.restore(beanClass, singleton, constructor, constructorNames, constructorError, fields,
+                methods, accessorFactory);
+    }
+
+    private static Class<?>[] readParameterTypes(DataInputStream in, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        Class<?>[] types = new Class<?>[in.readInt()];
+        for (int i = 0; i < types.length; ++i) {
+            String typeName = in.readUTF();
+            Class<?> primitive = PRIMITIVES.get(typeName);
+            types[i] = null == primitive ? loadClass(typeName, classLoader) : primitive;
+        }
+        return types;
+    }
+
+    private static String[] readParameterNames(DataInputStream in, int count) throws IOException {
+        String[] names = new String[count];
+        for (int i = 0; i < count; ++i) {
+            names[i] = readNullable(in);
+        }
+        return names;
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
+        return Class.forName(name, false, classLoader);
+    }
+
+    /**
+     * Computes CRC32 checksum of class file.
+     *
+     * @param className   binary class name
+     * @param classLoader class loader used to read class file
+     * @return checksum or -1 if class file is not found
+     * @throws IOException if read failed
+     */
+    static long getChecksum(String className, ClassLoader classLoader) throws IOException {
+        try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (null == stream) {
+                return -1;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(stream.readAllBytes());
+            return checksum.getValue();
+        }
+    }
+}
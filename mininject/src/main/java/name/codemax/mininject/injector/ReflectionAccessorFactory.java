@@ -0,0 +1,36 @@
+package name.codemax.mininject.injector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Accessor factory based on core reflection: {@link Constructor#newInstance}, {@link Field#set} and
+ * {@link Method#invoke}. Accessibility checks are suppressed once, when member is linked.
+ *
+ * @author Maksim Osipov
+ */
+final class ReflectionAccessorFactory implements MemberAccessorFactory {
+    static final ReflectionAccessorFactory INSTANCE = new ReflectionAccessorFactory();
+
+    private ReflectionAccessorFactory() {
+    }
+
+    @Override
+    public <T> ConstructorAccessor<T> link(Constructor<T> constructor) {
+        constructor.setAccessible(true);
+        return constructor::newInstance;
+    }
+
+    @Override
+    public FieldAccessor link(Field field) {
+        field.setAccessible(true);
+        return field::set;
+    }
+
+    @Override
+    public MethodAccessor link(Method method) {
+        method.setAccessible(true);
+        return method::invoke;
+    }
+}
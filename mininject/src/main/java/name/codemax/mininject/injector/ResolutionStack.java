@@ -0,0 +1,88 @@
+package name.codemax.mininject.injector;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread stack of bean classes being resolved, used to detect cyclic dependencies. Backing array is reused by
+ * subsequent resolutions on the same thread, so push and pop do not allocate unless stack grows deeper than ever
+ * before.
+ * <p>
+ * Class looked up in container is pushed as delegated: its bean is usually created by container factory which
+ * resolves the same class again with forced creation. Such resolution resumes delegated entry instead of pushing the
+ * class second time, so it is not reported as cyclic reference.
+ *
+ * @author Maksim Osipov
+ */
+final class ResolutionStack {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Class<?>[] types = new Class<?>[INITIAL_CAPACITY];
+    private boolean[] delegated = new boolean[INITIAL_CAPACITY];
+    private int depth = 0;
+    private long creations = 0;
+
+    /**
+     * Pushes class to the stack.
+     *
+     * @param type     bean class
+     * @param delegate whether bean is going to be looked up in container
+     * @return null if class is pushed, or cycle path (from first occurrence of class to class itself) if class is
+     * already in the stack
+     */
+    Class<?>[] push(Class<?> type, boolean delegate) {
+        for (int i = 0; i < depth; ++i) {
+            if (types[i] == type) {
+                Class<?>[] path = Arrays.copyOfRange(types, i, depth + 1);
+                path[path.length - 1] = type;
+                return path;
+            }
+        }
+        if (depth == types.length) {
+            types = Arrays.copyOf(types, depth * 2);
+            delegated = Arrays.copyOf(delegated, depth * 2);
+        }
+        delegated[depth] = delegate;
+        types[depth++] = type;
+        return null;
+    }
+
+    /**
+     * Resumes resolution of class on top of the stack if it was delegated to container.
+     *
+     * @param type bean class
+     * @return true if delegated entry is resumed and class must not be pushed, false otherwise
+     */
+    boolean resume(Class<?> type) {
+        int top = depth - 1;
+        if (top >= 0 && types[top] == type && delegated[top]) {
+            delegated[top] = false;
+            return true;
+        }
+        return false;
+    }
+
+    void pop() {
+        types[--depth] = null;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Counts bean creation performed by injector on this thread.
+     */
+    void countCreation() {
+        ++creations;
+    }
+
+    /**
+     * Returns number of beans created by injector on this thread. Difference of values taken before and after
+     * resolution tells whether resolution has created any bean.
+     *
+     * @return number of created beans
+     */
+    long getCreations() {
+        return creations;
+    }
+}
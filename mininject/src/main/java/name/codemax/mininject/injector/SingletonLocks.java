@@ -0,0 +1,64 @@
+package name.codemax.mininject.injector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-class locks guarding creation of {@link javax.inject.Singleton} beans which are not bound in container and are
+ * created just in time, so concurrent resolutions, e.g. parallel deferred injection, create such bean once. Thread
+ * which is about to wait for creation started by another thread checks whether that thread is waiting, directly or
+ * through other threads, for bean being created by current thread, and fails instead of deadlocking, the same way as
+ * cyclic constructor dependency within a single thread fails.
+ *
+ * @author Maksim Osipov
+ */
+final class SingletonLocks {
+    private final Map<Class<?>, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Thread> owners = new ConcurrentHashMap<>();
+    private final Map<Thread, Class<?>> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires lock of bean class.
+     *
+     * @param beanClass bean class
+     * @throws InjectionException if waiting would deadlock
+     */
+    void lock(Class<?> beanClass) {
+        ReentrantLock lock = locks.computeIfAbsent(beanClass, type -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            Thread current = Thread.currentThread();
+            waiting.put(current, beanClass);
+            try {
+                for (Class<?> type = beanClass; null != type; ) {
+                    Thread owner = owners.get(type);
+                    if (null == owner) {
+                        break;
+                    }
+                    if (owner == current) {
+                        throw new InjectionException("Unable to resolve bean " + beanClass.getName() +
+                                " due to cyclic reference on itself in dependencies created by another thread.");
+                    }
+                    type = waiting.get(owner);
+                }
+                lock.lock();
+            } finally {
+                waiting.remove(current);
+            }
+        }
+        owners.put(beanClass, Thread.currentThread());
+    }
+
+    /**
+     * Releases lock of bean class acquired by {@link #lock(Class)}.
+     *
+     * @param beanClass bean class
+     */
+    void unlock(Class<?> beanClass) {
+        ReentrantLock lock = locks.get(beanClass);
+        if (1 == lock.getHoldCount()) {
+            owners.remove(beanClass);
+        }
+        lock.unlock();
+    }
+}
@@ -0,0 +1,177 @@
+package name.codemax.mininject.injector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Applies configurations once and stores resulting bindings with injection plans of bound classes in binary snapshot
+ * file, e.g. at build time or on the first run. On later runs bindings are replayed from snapshot and plans are
+ * restored without reflective scanning of bean classes, configurations are not applied at all. Snapshot is validated
+ * against checksums of class files of bound classes, class files of wrapped configurations (of the class declaring
+ * lambda configuration) and {@value IndexConfiguration#INDEX_FILE} resources: if any of them is changed or snapshot is
+ * missing or malformed, configurations are applied again and snapshot is rewritten. Configurations which bind beans
+ * depending on anything else, e.g. on system properties or helper classes, should not be wrapped.
+ * <p>
+ * Only bindings made by {@code bind} methods of {@link BeanInjector} are stored. If wrapped configurations add bean
+ * resolvers or lifecycle listeners, or register beans in container directly, which can be detected only if container
+ * counts its changes, snapshot is not written and configurations are applied on every run.
+ *
+ * @author Maksim Osipov
+ */
+public class SnapshotConfiguration implements InjectorConfiguration {
+    private final Path snapshotFile;
+    private final ClassLoader classLoader;
+    private final InjectorConfiguration[] configurations;
+
+    /**
+     * Initializes new instance loading bean classes using context class loader of current thread.
+     *
+     * @param snapshotFile   snapshot file, may not exist
+     * @param configurations configurations applied if snapshot is missing or stale
+     */
+    public SnapshotConfiguration(Path snapshotFile, InjectorConfiguration... configurations) {
+        this(snapshotFile, null == Thread.currentThread().getContextClassLoader()
+                ? SnapshotConfiguration.class.getClassLoader()
+                : Thread.currentThread().getContextClassLoader(), configurations);
+    }
+
+    /**
+     * Initializes new instance loading bean classes and reading their class files using specified class loader.
+     *
+     * @param snapshotFile   snapshot file, may not exist
+     * @param classLoader    class loader
+     * @param configurations configurations applied if snapshot is missing or stale
+     */
+    public SnapshotConfiguration(Path snapshotFile, ClassLoader classLoader, InjectorConfiguration... configurations) {
+        this.snapshotFile = Objects.requireNonNull(snapshotFile);
+        this.classLoader = Objects.requireNonNull(classLoader);
+        this.configurations = configurations.clone();
+    }
+
+    @Override
+    public void configure(BeanInjector injector) {
+        long sourceChecksum = getSourceChecksum();
+        PlanSnapshot snapshot = read(injector, sourceChecksum);
+        if (null != snapshot) {
+            snapshot.apply(injector);
+            return;
+        }
+        int start = injector.getBindings().size();
+        int sideEffects = injector.getSideEffectCount();
+        int registrations = injector.getRegistrationCount();
+        int modifications = injector.getBeanContainer().getModificationCount();
+        for (InjectorConfiguration configuration : configurations) {
+            configuration.configure(injector);
+        }
+        boolean bindingsOnly = sideEffects == injector.getSideEffectCount() && (modifications < 0 ||
+                injector.getBeanContainer().getModificationCount() - modifications ==
+                        injector.getRegistrationCount() - registrations);
+        if (sourceChecksum < 0 || !bindingsOnly) {
+            delete();
+            return;
+        }
+        List<PlanSnapshot.Binding> bindings = injector.getBindings();
+        write(injector, sourceChecksum, bindings.subList(start, bindings.size()));
+    }
+
+    /**
+     * Computes checksum of class files of configurations and of all bean indexes.
+     *
+     * @return checksum or -1 if class file of any configuration is not found
+     */
+    private long getSourceChecksum() {
+        CRC32 checksum = new CRC32();
+        try {
+            for (InjectorConfiguration configuration : configurations) {
+                Class<?> configurationClass = configuration.getClass();
+                String className = configurationClass.getName();
+                int lambda = className.indexOf("$$Lambda");
+                ClassLoader loader = null == configurationClass.getClassLoader()
+                        ? classLoader
+                        : configurationClass.getClassLoader();
+                long classChecksum = PlanSnapshot.getChecksum(lambda < 0 ? className : className.substring(0, lambda),
+                        loader);
+                if (classChecksum < 0) {
+                    return -1;
+                }
+                updateChecksum(checksum, classChecksum);
+            }
+            Enumeration<URL> indexes = classLoader.getResources(IndexConfiguration.INDEX_FILE);
+            while (indexes.hasMoreElements()) {
+                try (InputStream stream = indexes.nextElement().openStream()) {
+                    checksum.update(stream.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return checksum.getValue();
+    }
+
+    private static void updateChecksum(CRC32 checksum, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            checksum.update((int) (value >>> shift));
+        }
+    }
+
+    private PlanSnapshot read(BeanInjector injector, long sourceChecksum) {
+        if (sourceChecksum < 0) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(snapshotFile)))) {
+            return PlanSnapshot.read(in, sourceChecksum, classLoader,
+                    injector.getInitializer().getAccessorFactory());
+        } catch (IOException e) {
+            // Missing or malformed snapshot is rebuilt in the same way as stale one.
+            return null;
+        }
+    }
+
+    private void delete() {
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            throw new InjectionException("Unable to delete injection plan snapshot " + snapshotFile + ": " +
+                    e.getMessage(), e);
+        }
+    }
+
+    private void write(BeanInjector injector, long sourceChecksum, List<PlanSnapshot.Binding> bindings) {
+        Path file = snapshotFile.toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(tempFile)))) {
+                    PlanSnapshot.write(out, sourceChecksum, bindings, injector.getInitializer(), classLoader);
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new InjectionException("Unable to write injection plan snapshot " + file + ": " + e.getMessage(),
+                    e);
+        }
+    }
+}
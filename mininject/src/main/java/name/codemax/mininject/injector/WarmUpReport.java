@@ -0,0 +1,81 @@
+package name.codemax.mininject.injector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of eager singletons warm-up: time spent on creation of each bean and overall elapsed time.
+ *
+ * @author Maksim Osipov
+ */
+public final class WarmUpReport {
+    /**
+     * Warm-up time of single bean.
+     */
+    public static final class BeanWarmUp {
+        private final Class<?> beanClass;
+        private final long durationNanos;
+
+        BeanWarmUp(Class<?> beanClass, long durationNanos) {
+            this.beanClass = beanClass;
+            this.durationNanos = durationNanos;
+        }
+
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        /**
+         * Returns time spent on obtaining bean from container. Dependencies are created before dependent beans
+         * whenever possible, so this is mostly time of creation of bean itself.
+         *
+         * @return warm-up duration in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    private final List<BeanWarmUp> beans;
+    private final long elapsedNanos;
+
+    WarmUpReport(List<BeanWarmUp> beans, long elapsedNanos) {
+        List<BeanWarmUp> sorted = new ArrayList<>(beans);
+        sorted.sort(Comparator.comparingLong(BeanWarmUp::getDurationNanos).reversed());
+        this.beans = Collections.unmodifiableList(sorted);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns warm-up times of beans, the slowest come first.
+     *
+     * @return list of bean warm-up times
+     */
+    public List<BeanWarmUp> getBeans() {
+        return beans;
+    }
+
+    /**
+     * Returns wall-clock time of the whole warm-up. It is less than sum of bean warm-up times if beans are created
+     * in parallel.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("Warm-up of %d bean(s) took %d ms", beans.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+        for (BeanWarmUp bean : beans) {
+            builder.append(String.format("%n  %10.3f ms  %s", bean.getDurationNanos() / 1e6,
+                    bean.getBeanClass().getName()));
+        }
+        return builder.toString();
+    }
+}
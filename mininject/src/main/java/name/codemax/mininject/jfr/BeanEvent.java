@@ -0,0 +1,62 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of Flight Recorder events of MinInject. Events are disabled unless enabled by recording settings, disabled
+ * event is not committed and its fields are not filled. Frequent events are created only if their type is enabled, so
+ * no event is allocated on hot paths when nothing is recorded.
+ *
+ * @author Maksim Osipov
+ */
+@Category("MinInject")
+@StackTrace(false)
+public abstract class BeanEvent extends Event {
+    @Label("Bean Name")
+    public String beanName;
+
+    @Label("Bean Class")
+    public Class<?> beanClass;
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    /**
+     * Returns type of specified event class, which tells whether any running recording enables the event.
+     *
+     * @param eventClass event class
+     * @return event type or null if Flight Recorder is not available
+     */
+    static EventType getType(Class<? extends Event> eventClass) {
+        try {
+            return EventType.getEventType(eventClass);
+        } catch (RuntimeException | Error e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fills event fields and commits event if it passes recording settings.
+     *
+     * @param beanName  bean name
+     * @param beanClass bean class
+     * @param depth     nesting depth
+     * @param cacheHit  whether bean is taken from cache without creating new instance
+     */
+    public void commit(String beanName, Class<?> beanClass, int depth, boolean cacheHit) {
+        if (shouldCommit()) {
+            this.beanName = beanName;
+            this.beanClass = beanClass;
+            this.depth = depth;
+            this.cacheHit = cacheHit;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Maksim Osipov
+ */
+@Name("name.codemax.mininject.CreateBean")
+@Label("Create Bean")
+@Description("Construction of bean by injector, including resolution of constructor parameters.")
+public final class CreateBeanEvent extends BeanEvent {
+    private static final EventType TYPE = getType(CreateBeanEvent.class);
+
+    /**
+     * Returns value indicating whether event should be created, i.e. whether it is enabled by any running recording.
+     *
+     * @return true if event is enabled
+     */
+    public static boolean isTypeEnabled() {
+        return null != TYPE && TYPE.isEnabled();
+    }
+}
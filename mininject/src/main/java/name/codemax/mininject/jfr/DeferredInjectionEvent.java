@@ -0,0 +1,27 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author Maksim Osipov
+ */
+@Name("name.codemax.mininject.DeferredInjection")
+@Label("Deferred Injection")
+@Description("Injection into all deferred beans performed when deferred injection mode is disabled.")
+@Category("MinInject")
+@StackTrace(false)
+public final class DeferredInjectionEvent extends Event {
+    @Label("Bean Count")
+    public int beanCount;
+
+    @Label("Failure Count")
+    public int failureCount;
+
+    @Label("Parallel")
+    public boolean parallel;
+}
@@ -0,0 +1,26 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Maksim Osipov
+ */
+@Name("name.codemax.mininject.LazyInitialization")
+@Label("Lazy Initialization")
+@Description("Call of lazy singleton factory by container, depth is number of lazy singletons being initialized " +
+        "on the thread, cache hit means singleton is initialized by another thread meanwhile.")
+public final class LazyInitializationEvent extends BeanEvent {
+    private static final EventType TYPE = getType(LazyInitializationEvent.class);
+
+    /**
+     * Returns value indicating whether event should be created, i.e. whether it is enabled by any running recording.
+     *
+     * @return true if event is enabled
+     */
+    public static boolean isTypeEnabled() {
+        return null != TYPE && TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,26 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Maksim Osipov
+ */
+@Name("name.codemax.mininject.ResolveBean")
+@Label("Resolve Bean")
+@Description("Resolution of bean by injector, depth is number of beans being resolved on the thread, cache hit " +
+        "means no bean is constructed during resolution.")
+public final class ResolveBeanEvent extends BeanEvent {
+    private static final EventType TYPE = getType(ResolveBeanEvent.class);
+
+    /**
+     * Returns value indicating whether event should be created, i.e. whether it is enabled by any running recording.
+     *
+     * @return true if event is enabled
+     */
+    public static boolean isTypeEnabled() {
+        return null != TYPE && TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,58 @@
+package name.codemax.mininject.listeners;
+
+import java.lang.reflect.Type;
+
+/**
+ * Receives notifications about bean lifecycle from injector and container. Methods are called synchronously on the
+ * thread performing the operation, so implementations must be thread-safe and fast. All methods do nothing by
+ * default.
+ *
+ * @author Maksim Osipov
+ */
+public interface BeanLifecycleListener {
+    /**
+     * Called before injector constructs new bean.
+     *
+     * @param beanClass bean class
+     */
+    default void beforeConstruction(Class<?> beanClass) {
+    }
+
+    /**
+     * Called after injector constructed new bean. Duration includes resolution of constructor parameters, but not
+     * injection of fields and methods.
+     *
+     * @param beanClass     bean class
+     * @param bean          constructed bean
+     * @param durationNanos construction duration in nanoseconds
+     */
+    default void afterConstruction(Class<?> beanClass, Object bean, long durationNanos) {
+    }
+
+    /**
+     * Called after injector injected fields and called {@code @Inject} methods of bean.
+     *
+     * @param bean          initialized bean
+     * @param durationNanos injection duration in nanoseconds
+     */
+    default void afterInjection(Object bean, long durationNanos) {
+    }
+
+    /**
+     * Called after container created lazy singleton.
+     *
+     * @param name          bean name
+     * @param bean          created singleton
+     * @param durationNanos factory call duration in nanoseconds
+     */
+    default void afterLazyInitialization(String name, Object bean, long durationNanos) {
+    }
+
+    /**
+     * Called when injector resolves value using bean resolver.
+     *
+     * @param type resolved type
+     */
+    default void resolverHit(Type type) {
+    }
+}
@@ -0,0 +1,64 @@
+package name.codemax.mininject.listeners;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lifecycle statistics of beans of single class collected by {@link BeanStatisticsListener}.
+ *
+ * @author Maksim Osipov
+ */
+public final class BeanStatistics {
+    private final Class<?> beanClass;
+    private final LatencyHistogram construction = new LatencyHistogram();
+    private final LatencyHistogram injection = new LatencyHistogram();
+    private final LatencyHistogram lazyInitialization = new LatencyHistogram();
+    private final LongAdder resolverHits = new LongAdder();
+
+    BeanStatistics(Class<?> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Returns durations of bean constructions, count of recorded durations is number of created instances.
+     *
+     * @return construction histogram
+     */
+    public LatencyHistogram getConstruction() {
+        return construction;
+    }
+
+    /**
+     * Returns durations of field and method injections.
+     *
+     * @return injection histogram
+     */
+    public LatencyHistogram getInjection() {
+        return injection;
+    }
+
+    /**
+     * Returns durations of lazy singleton factory calls.
+     *
+     * @return lazy initialization histogram
+     */
+    public LatencyHistogram getLazyInitialization() {
+        return lazyInitialization;
+    }
+
+    /**
+     * Returns number of values of this type resolved by bean resolvers.
+     *
+     * @return resolver hits count
+     */
+    public long getResolverHits() {
+        return resolverHits.sum();
+    }
+
+    void addResolverHit() {
+        resolverHits.increment();
+    }
+}
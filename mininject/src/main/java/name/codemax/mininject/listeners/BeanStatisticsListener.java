@@ -0,0 +1,76 @@
+package name.codemax.mininject.listeners;
+
+import name.codemax.mininject.util.TypeUtils;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lifecycle listener which aggregates per-class counts and latency histograms of bean construction, injection and
+ * lazy initialization, and counts of resolver hits.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanStatisticsListener implements BeanLifecycleListener {
+    private final ConcurrentHashMap<Class<?>, BeanStatistics> statistics = new ConcurrentHashMap<>();
+
+    private BeanStatistics getOrCreate(Class<?> beanClass) {
+        BeanStatistics beanStatistics = statistics.get(beanClass);
+        return null == beanStatistics ? statistics.computeIfAbsent(beanClass, BeanStatistics::new) : beanStatistics;
+    }
+
+    @Override
+    public void afterConstruction(Class<?> beanClass, Object bean, long durationNanos) {
+        getOrCreate(beanClass).getConstruction().record(durationNanos);
+    }
+
+    @Override
+    public void afterInjection(Object bean, long durationNanos) {
+        getOrCreate(bean.getClass()).getInjection().record(durationNanos);
+    }
+
+    @Override
+    public void afterLazyInitialization(String name, Object bean, long durationNanos) {
+        getOrCreate(bean.getClass()).getLazyInitialization().record(durationNanos);
+    }
+
+    @Override
+    public void resolverHit(Type type) {
+        Class<?> rawClass = TypeUtils.getRawClass(type);
+        if (null != rawClass) {
+            getOrCreate(rawClass).addResolverHit();
+        }
+    }
+
+    /**
+     * Returns statistics of specified class.
+     *
+     * @param beanClass bean class, or raw type of resolved value for resolver hits
+     * @return statistics or null if there were no events for this class
+     */
+    public BeanStatistics getStatistics(Class<?> beanClass) {
+        return statistics.get(beanClass);
+    }
+
+    /**
+     * Returns statistics of all classes ordered by total construction time descending, i.e. the beans which slow
+     * down startup most come first.
+     *
+     * @return list of statistics
+     */
+    public List<BeanStatistics> getStatistics() {
+        List<BeanStatistics> result = new ArrayList<>(statistics.values());
+        result.sort(Comparator.comparingLong((BeanStatistics s) -> s.getConstruction().getTotalNanos()).reversed());
+        return result;
+    }
+
+    /**
+     * Clears collected statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+}
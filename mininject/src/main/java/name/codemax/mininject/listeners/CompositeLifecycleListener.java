@@ -0,0 +1,72 @@
+package name.codemax.mininject.listeners;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Lifecycle listener which notifies several listeners in order of registration.
+ *
+ * @author Maksim Osipov
+ */
+public final class CompositeLifecycleListener implements BeanLifecycleListener {
+    private final BeanLifecycleListener[] listeners;
+
+    private CompositeLifecycleListener(BeanLifecycleListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Combines listeners. Used by holders of single listener field, which is null until the first listener is added.
+     *
+     * @param current  current listener or null
+     * @param listener added listener
+     * @return listener notifying both listeners
+     */
+    public static BeanLifecycleListener combine(BeanLifecycleListener current, BeanLifecycleListener listener) {
+        if (null == current) {
+            return listener;
+        }
+        if (current instanceof CompositeLifecycleListener) {
+            BeanLifecycleListener[] listeners = ((CompositeLifecycleListener) current).listeners;
+            BeanLifecycleListener[] combined = Arrays.copyOf(listeners, listeners.length + 1);
+            combined[listeners.length] = listener;
+            return new CompositeLifecycleListener(combined);
+        }
+        return new CompositeLifecycleListener(new BeanLifecycleListener[]{current, listener});
+    }
+
+    @Override
+    public void beforeConstruction(Class<?> beanClass) {
+        for (BeanLifecycleListener listener : listeners) {
+            listener.beforeConstruction(beanClass);
+        }
+    }
+
+    @Override
+    public void afterConstruction(Class<?> beanClass, Object bean, long durationNanos) {
+        for (BeanLifecycleListener listener : listeners) {
+            listener.afterConstruction(beanClass, bean, durationNanos);
+        }
+    }
+
+    @Override
+    public void afterInjection(Object bean, long durationNanos) {
+        for (BeanLifecycleListener listener : listeners) {
+            listener.afterInjection(bean, durationNanos);
+        }
+    }
+
+    @Override
+    public void afterLazyInitialization(String name, Object bean, long durationNanos) {
+        for (BeanLifecycleListener listener : listeners) {
+            listener.afterLazyInitialization(name, bean, durationNanos);
+        }
+    }
+
+    @Override
+    public void resolverHit(Type type) {
+        for (BeanLifecycleListener listener : listeners) {
+            listener.resolverHit(type);
+        }
+    }
+}
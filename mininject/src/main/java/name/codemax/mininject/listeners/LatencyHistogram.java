@@ -0,0 +1,81 @@
+package name.codemax.mininject.listeners;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations with power of two buckets. Bucket {@code i} counts durations from
+ * {@code 2^(i-1)} inclusive to {@code 2^i} exclusive nanoseconds, bucket 0 counts zero durations.
+ *
+ * @author Maksim Osipov
+ */
+public final class LatencyHistogram {
+    public static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records duration.
+     *
+     * @param durationNanos duration in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long durationNanos) {
+        long duration = Math.max(0, durationNanos);
+        buckets.incrementAndGet(Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(duration)));
+        count.increment();
+        totalNanos.add(duration);
+        maxNanos.accumulateAndGet(duration, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns counts of recorded durations by buckets.
+     *
+     * @return copy of bucket counts, {@link #BUCKET_COUNT} elements
+     */
+    public long[] getBuckets() {
+        long[] result = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns upper bound of specified percentile, i.e. exclusive upper bound of bucket containing it.
+     *
+     * @param percentile percentile from 0 to 100
+     * @return upper bound of percentile in nanoseconds, 0 if there are no recorded durations
+     */
+    public long getPercentileUpperBound(double percentile) {
+        long[] counts = getBuckets();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            accumulated += counts[i];
+            if (0 != counts[i] && accumulated >= threshold) {
+                return i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return 0;
+    }
+}
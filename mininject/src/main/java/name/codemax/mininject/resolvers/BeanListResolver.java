@@ -0,0 +1,71 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import javax.inject.Provider;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resolves {@link List} injection points. List of parameterized type, e.g. {@code List<Repository<User>>}, consists of
+ * beans registered under full type name or, if there are no such beans, under name of raw class. List of providers,
+ * e.g. {@code List<Provider<Foo>>}, holds a provider of each bean listed for provided type.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanListResolver implements BeanResolver {
+    @Override
+    public Collection<Class<?>> getResolvableTypes() {
+        return Collections.singleton(List.class);
+    }
+
+    @Override
+    public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+        return createSupplier(TypeKey.of(type), context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        if (1 != key.getArgumentCount()) {
+            return null;
+        }
+        final TypeKey beanKey = key.getArgument(0);
+        final ListableBeanContainer container = context.getContainer();
+        if (Provider.class == beanKey.getRawClass() && 1 == beanKey.getArgumentCount()) {
+            final TypeKey providedKey = beanKey.getArgument(0);
+            return () -> (T) listProviders(container, providedKey);
+        }
+        return () -> (T) list(container, beanKey);
+    }
+
+    static List<?> list(ListableBeanContainer container, TypeKey key) {
+        List<?> beans = container.list(key);
+        return beans.isEmpty() && key.isParameterized() ? container.list(key.getRawClass()) : beans;
+    }
+
+    private static List<Provider<?>> listProviders(ListableBeanContainer container, TypeKey key) {
+        List<String> names = container.listNames(key.getName());
+        if (null != names && names.isEmpty() && key.isParameterized()) {
+            names = container.listNames(key.getRawClass().getName());
+        }
+        List<Provider<?>> providers = new ArrayList<>();
+        if (null == names) {
+            // Container does not expose names of listed beans, so providers return beans listed at once.
+            for (Object bean : list(container, key)) {
+                providers.add(() -> bean);
+            }
+        } else {
+            for (String name : names) {
+                providers.add(() -> container.get(name));
+            }
+        }
+        return Collections.unmodifiableList(providers);
+    }
+}
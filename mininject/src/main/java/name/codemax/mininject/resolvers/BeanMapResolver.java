@@ -0,0 +1,48 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resolves {@code Map<String, T>} injection points with beans bound to {@code T}, keyed by bean names. Maps are
+ * built by {@link ListableBeanContainer#map(String)}, so container may cache them until binding is changed.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanMapResolver implements BeanResolver {
+    @Override
+    public Collection<Class<?>> getResolvableTypes() {
+        return Collections.singleton(Map.class);
+    }
+
+    @Override
+    public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+        return createSupplier(TypeKey.of(type), context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        if (2 != key.getArgumentCount() || String.class != key.getArgument(0).getRawClass()) {
+            return null;
+        }
+        final TypeKey beanKey = key.getArgument(1);
+        final ListableBeanContainer container = context.getContainer();
+        final String name = beanKey.getName();
+        if (!beanKey.isParameterized()) {
+            return () -> (T) container.map(name);
+        }
+        final String rawName = beanKey.getRawClass().getName();
+        return () -> {
+            Map<String, ?> beans = container.map(name);
+            return (T) (beans.isEmpty() ? container.map(rawName) : beans);
+        };
+    }
+}
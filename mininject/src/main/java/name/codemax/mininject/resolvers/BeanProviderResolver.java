@@ -0,0 +1,48 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import javax.inject.Provider;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * Resolves {@link Provider} injection points. Provider is linked to bean definition using
+ * {@link ListableBeanContainer#getSupplier(Class)}, bean which is not registered in container is resolved by injector,
+ * i.e. created. Provided type may be parameterized, e.g. {@code Provider<List<Foo>>} is resolved by list resolver.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanProviderResolver implements BeanResolver {
+    @Override
+    public Collection<Class<?>> getResolvableTypes() {
+        return Collections.singleton(Provider.class);
+    }
+
+    @Override
+    public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+        return createSupplier(TypeKey.of(type), context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        if (1 != key.getArgumentCount()) {
+            return null;
+        }
+        final TypeKey beanKey = key.getArgument(0);
+        final ListableBeanContainer container = context.getContainer();
+        final Supplier<?> supplier = beanKey.isParameterized()
+                ? () -> container.get(beanKey)
+                : container.getSupplier(beanKey.getRawClass());
+        final Provider<Object> provider = () -> {
+            Object bean = supplier.get();
+            return null == bean ? context.resolve(beanKey) : bean;
+        };
+        return () -> (T) provider;
+    }
+}
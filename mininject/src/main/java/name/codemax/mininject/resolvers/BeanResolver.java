@@ -0,0 +1,49 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Resolves values of injection points of specific types, e.g. collections or providers of beans. Resolution is
+ * performed in two phases. At first, resolver is selected by raw type of injection point among the ones declared by
+ * {@link #getResolvableTypes()}. Then {@link #createSupplier(Type, InjectionContext)} is called once per injection
+ * point, returned supplier is reused for every injection.
+ *
+ * @author Maksim Osipov
+ */
+public interface BeanResolver {
+    /**
+     * Returns raw types of injection points this resolver handles.
+     *
+     * @return resolvable raw types
+     */
+    Collection<Class<?>> getResolvableTypes();
+
+    /**
+     * Creates supplier of values for injection point of specified type.
+     *
+     * @param type    injection point type, its raw type is one of {@link #getResolvableTypes()}
+     * @param context injection context
+     * @param <T>     injection point type
+     * @return supplier of injected values or null if this resolver is not able to resolve specified type
+     */
+    <T> Supplier<T> createSupplier(Type type, InjectionContext context);
+
+    /**
+     * Creates supplier of values for injection point of specified type key. Injector calls this method, so resolvers
+     * may inspect nested type arguments without reflection. Delegates to {@link #createSupplier(Type,
+     * InjectionContext)} by default.
+     *
+     * @param key     key of injection point type, its raw class is one of {@link #getResolvableTypes()}
+     * @param context injection context
+     * @param <T>     injection point type
+     * @return supplier of injected values or null if this resolver is not able to resolve specified type
+     */
+    default <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        return createSupplier(key.getType(), context);
+    }
+}
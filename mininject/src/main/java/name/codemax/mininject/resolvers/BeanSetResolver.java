@@ -0,0 +1,63 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Resolves {@link Set} injection points with immutable sets of beans bound to set element type. Set is rebuilt only
+ * when container returns another list of beans: containers caching lists of singletons, e.g.
+ * {@link name.codemax.mininject.container.impl.BeanContainerImpl}, return the same list until binding is changed,
+ * lists containing prototypes are new on each call.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanSetResolver implements BeanResolver {
+    private static class Snapshot {
+        private final List<?> beans;
+        private final Set<?> set;
+
+        private Snapshot(List<?> beans, Set<?> set) {
+            this.beans = beans;
+            this.set = set;
+        }
+    }
+
+    @Override
+    public Collection<Class<?>> getResolvableTypes() {
+        return Collections.singleton(Set.class);
+    }
+
+    @Override
+    public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+        return createSupplier(TypeKey.of(type), context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        if (1 != key.getArgumentCount()) {
+            return null;
+        }
+        final TypeKey beanKey = key.getArgument(0);
+        final ListableBeanContainer container = context.getContainer();
+        final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+        return () -> {
+            List<?> beans = BeanListResolver.list(container, beanKey);
+            Snapshot current = snapshot.get();
+            if (null == current || current.beans != beans) {
+                current = new Snapshot(beans, Set.copyOf(beans));
+                snapshot.set(current);
+            }
+            return (T) current.set;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package name.codemax.mininject.resolvers;
+
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.injector.InjectionContext;
+import name.codemax.mininject.util.TypeKey;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Resolves {@link CompletionStage} and {@link CompletableFuture} injection points, e.g. {@code CompletionStage<Cache>}.
+ * Stage is obtained using {@link ListableBeanContainer#getAsync(TypeKey)}, so dependent bean is created without
+ * waiting for asynchronous bean and waits only when it needs the result. Bean which is not registered in container is
+ * resolved by injector, i.e. created, when stage completes. Injected {@link CompletableFuture} is a copy which cannot
+ * affect the bean.
+ *
+ * @author Maksim Osipov
+ */
+public class BeanStageResolver implements BeanResolver {
+    @Override
+    public Collection<Class<?>> getResolvableTypes() {
+        return Arrays.asList(CompletionStage.class, CompletableFuture.class);
+    }
+
+    @Override
+    public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+        return createSupplier(TypeKey.of(type), context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> createSupplier(TypeKey key, InjectionContext context) {
+        if (1 != key.getArgumentCount()) {
+            return null;
+        }
+        final TypeKey beanKey = key.getArgument(0);
+        final ListableBeanContainer container = context.getContainer();
+        final boolean future = CompletableFuture.class == key.getRawClass();
+        return () -> {
+            CompletionStage<Object> stage = container.<Object>getAsync(beanKey)
+                    .thenApply(bean -> null == bean ? context.resolve(beanKey) : bean);
+            return (T) (future ? stage.toCompletableFuture() : stage);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package name.codemax.mininject.scopes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scope of beans, e.g. thread or request. Scope provides {@link ScopeContext} of current scope instance, scoped bean
+ * is created once per context. Scopes are registered in container by
+ * {@link name.codemax.mininject.container.ConfigurableBeanContainer#registerScope(String, BeanScope)}.
+ *
+ * @author Maksim Osipov
+ */
+public abstract class BeanScope {
+    private final AtomicInteger slots = new AtomicInteger();
+
+    /**
+     * Allocates slot of scope contexts for new scoped bean definition.
+     *
+     * @return slot index
+     */
+    public final int allocateSlot() {
+        return slots.getAndIncrement();
+    }
+
+    /**
+     * Returns context of current scope instance. Called on every lookup of scoped bean; built-in scopes read context
+     * from {@link ThreadLocal}, which costs a hash probe of thread-local map rather than a single field read.
+     *
+     * @return scope context
+     * @throws IllegalStateException if scope is not active
+     */
+    public abstract ScopeContext getContext();
+}
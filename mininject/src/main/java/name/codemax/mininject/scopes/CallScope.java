@@ -0,0 +1,65 @@
+package name.codemax.mininject.scopes;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Scope bound to dynamic extent of a call, similar to {@code java.lang.ScopedValue}: scoped beans created during
+ * {@link #run(Runnable)} or {@link #call(Callable)} are shared by all code called from it on the same thread and are
+ * discarded when it returns. Nested calls have their own beans. Scope is structured, so context cannot leak to other
+ * tasks executed by the same (e.g. carrier or pooled) thread.
+ *
+ * @author Maksim Osipov
+ */
+public class CallScope extends BeanScope {
+    private final ThreadLocal<ScopeContext> current = new ThreadLocal<>();
+
+    /**
+     * Runs task within new scope context.
+     *
+     * @param task task
+     */
+    public void run(Runnable task) {
+        ScopeContext previous = current.get();
+        current.set(new ScopeContext());
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls task within new scope context.
+     *
+     * @param task task
+     * @param <T>  result type
+     * @return task result
+     * @throws Exception if task fails
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        ScopeContext previous = current.get();
+        current.set(new ScopeContext());
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private void restore(ScopeContext previous) {
+        if (null == previous) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    @Override
+    public ScopeContext getContext() {
+        ScopeContext context = current.get();
+        if (null == context) {
+            throw new IllegalStateException("There is no active call scope.");
+        }
+        return context;
+    }
+}
@@ -0,0 +1,72 @@
+package name.codemax.mininject.scopes;
+
+/**
+ * Scope of request. Request is started by {@link #begin()} and is finished by closing returned activation. Context of
+ * request can be passed to other threads processing the same request and activated there by
+ * {@link #activate(ScopeContext)}.
+ *
+ * @author Maksim Osipov
+ */
+public class RequestScope extends BeanScope {
+    /**
+     * Activation of request context on current thread. Closing activation restores previously active context.
+     */
+    public final class Activation implements AutoCloseable {
+        private final ScopeContext context;
+        private final ScopeContext previous;
+        private final boolean finish;
+
+        private Activation(ScopeContext context, boolean finish) {
+            this.context = context;
+            this.finish = finish;
+            previous = current.get();
+            current.set(context);
+        }
+
+        public ScopeContext getContext() {
+            return context;
+        }
+
+        @Override
+        public void close() {
+            if (null == previous) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+            if (finish) {
+                context.clear();
+            }
+        }
+    }
+
+    private final ThreadLocal<ScopeContext> current = new ThreadLocal<>();
+
+    /**
+     * Starts new request on current thread. Scoped beans of request are discarded when activation is closed.
+     *
+     * @return activation of new request context
+     */
+    public Activation begin() {
+        return new Activation(new ScopeContext(), true);
+    }
+
+    /**
+     * Activates context of existing request on current thread, e.g. on thread continuing request processing.
+     *
+     * @param context request context
+     * @return activation of request context, closing it does not discard scoped beans
+     */
+    public Activation activate(ScopeContext context) {
+        return new Activation(context, false);
+    }
+
+    @Override
+    public ScopeContext getContext() {
+        ScopeContext context = current.get();
+        if (null == context) {
+            throw new IllegalStateException("There is no active request.");
+        }
+        return context;
+    }
+}
@@ -0,0 +1,80 @@
+package name.codemax.mininject.scopes;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Storage of beans of single scope instance, e.g. of single thread or request. Beans are stored in array by slots
+ * allocated by scope for each scoped bean definition, so lookup of existing bean is a single array read. Storage can
+ * be shared by several threads: beans are created under lock and published by replacing the array.
+ *
+ * @author Maksim Osipov
+ */
+public final class ScopeContext {
+    private static final Object[] EMPTY = new Object[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Object[] beans = EMPTY;
+
+    /**
+     * Returns bean stored in specified slot, creating it if there is no such bean yet.
+     *
+     * @param slot    slot allocated by {@link BeanScope#allocateSlot()}
+     * @param factory bean factory
+     * @param <T>     bean type
+     * @return scoped bean
+     */
+    public <T> T get(int slot, Supplier<T> factory) {
+        return get(slot, Supplier::get, factory);
+    }
+
+    /**
+     * Returns bean stored in specified slot, creating it by applying factory to argument if there is no such bean yet.
+     * Unlike {@link #get(int, Supplier)} does not require capturing supplier, so lookup of existing bean does not
+     * allocate.
+     *
+     * @param slot     slot allocated by {@link BeanScope#allocateSlot()}
+     * @param factory  bean factory
+     * @param argument factory argument, e.g. container
+     * @param <A>      argument type
+     * @param <T>      bean type
+     * @return scoped bean
+     */
+    @SuppressWarnings("unchecked")
+    public <A, T> T get(int slot, Function<? super A, T> factory, A argument) {
+        Object[] current = beans;
+        if (slot < current.length && null != current[slot]) {
+            return (T) current[slot];
+        }
+        lock.lock();
+        try {
+            current = beans;
+            if (slot < current.length && null != current[slot]) {
+                return (T) current[slot];
+            }
+            T bean = factory.apply(argument);
+            if (null != bean) {
+                Object[] updated = Arrays.copyOf(beans, Math.max(beans.length, slot + 1));
+                updated[slot] = bean;
+                beans = updated;
+            }
+            return bean;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all beans from context, e.g. when request is finished.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            beans = EMPTY;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
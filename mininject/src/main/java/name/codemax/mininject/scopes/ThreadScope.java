@@ -0,0 +1,22 @@
+package name.codemax.mininject.scopes;
+
+/**
+ * Scope of single thread: every thread has its own instances of scoped beans.
+ *
+ * @author Maksim Osipov
+ */
+public class ThreadScope extends BeanScope {
+    private final ThreadLocal<ScopeContext> contexts = ThreadLocal.withInitial(ScopeContext::new);
+
+    @Override
+    public ScopeContext getContext() {
+        return contexts.get();
+    }
+
+    /**
+     * Removes scoped beans of current thread, e.g. before thread is returned to pool.
+     */
+    public void clear() {
+        contexts.remove();
+    }
+}
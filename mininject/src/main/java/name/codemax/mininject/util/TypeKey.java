@@ -0,0 +1,284 @@
+package name.codemax.mininject.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical key of class or parameterized type, e.g. {@code List<Provider<Foo>>}. Keys are interned: equal types
+ * usually have the same key, so keys are mostly compared by identity and their hash codes are computed once. Wildcards and
+ * type variables are replaced by their upper bounds, generic arrays by array classes. Key of a class is named after
+ * the class, so beans registered in container under class names are found by class keys.
+ * <p>
+ * Keys of parameterized types are interned per class loaded by the most specific class loader among loaders of their
+ * raw class and arguments, e.g. {@code List<Foo>} is kept by {@code Foo}, so keys never pin application class loaders
+ * through classes of the platform. Key of type mixing classes of unrelated loaders, e.g. {@code Map<A, B>} with
+ * {@code A} and {@code B} loaded by sibling loaders, is kept by no class and is not interned: such keys are equal but
+ * not identical. Lookup of existing key allocates neither copy of arguments nor name, names of
+ * parameterized types are built on first request.
+ *
+ * @author Maksim Osipov
+ */
+public final class TypeKey {
+    private static final TypeKey[] NO_ARGUMENTS = new TypeKey[0];
+    private static final ClassValue<TypeKey> CLASS_KEYS = new ClassValue<>() {
+        @Override
+        protected TypeKey computeValue(Class<?> type) {
+            return new TypeKey(type, NO_ARGUMENTS);
+        }
+    };
+    private static final ClassValue<ConcurrentMap<TypeKey, TypeKey>> PARAMETERIZED_KEYS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<TypeKey, TypeKey> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<?> rawClass;
+    private final TypeKey[] arguments;
+    private final int hash;
+    private final Class<?> owner;
+    private volatile String name;
+    private volatile Type type;
+
+    private TypeKey(Class<?> rawClass, TypeKey[] arguments) {
+        this.rawClass = rawClass;
+        this.arguments = arguments;
+        hash = 31 * rawClass.hashCode() + Arrays.hashCode(arguments);
+        if (0 == arguments.length) {
+            owner = rawClass;
+            name = rawClass.getName();
+        } else {
+            owner = getOwner(rawClass, arguments);
+        }
+    }
+
+    /**
+     * Returns class which keeps interned key, i.e. class loaded by loader which has loaders of all other classes of
+     * the key as ancestors or is the same loader.
+     *
+     * @param rawClass  raw class
+     * @param arguments keys of type arguments
+     * @return owner class, or null if loaders are not related and key should not be interned
+     */
+    private static Class<?> getOwner(Class<?> rawClass, TypeKey[] arguments) {
+        Class<?> owner = rawClass;
+        for (TypeKey argument : arguments) {
+            if (null == argument.owner) {
+                return null;
+            }
+            ClassLoader ownerLoader = owner.getClassLoader();
+            ClassLoader argumentLoader = argument.owner.getClassLoader();
+            if (isAncestor(ownerLoader, argumentLoader)) {
+                owner = argument.owner;
+            } else if (ownerLoader != argumentLoader && !isAncestor(argumentLoader, ownerLoader)) {
+                return null;
+            }
+        }
+        return owner;
+    }
+
+    private static boolean isAncestor(ClassLoader ancestor, ClassLoader loader) {
+        if (ancestor == loader) {
+            return false;
+        }
+        if (null == ancestor) {
+            return true;
+        }
+        for (ClassLoader parent = loader; null != parent; parent = parent.getParent()) {
+            if (parent == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns key of specified class.
+     *
+     * @param type class
+     * @return interned key
+     */
+    public static TypeKey of(Class<?> type) {
+        return CLASS_KEYS.get(type);
+    }
+
+    /**
+     * Returns key of parameterized type with specified raw class and type arguments.
+     *
+     * @param rawClass  generic class
+     * @param arguments keys of type arguments
+     * @return interned key
+     */
+    public static TypeKey of(Class<?> rawClass, TypeKey... arguments) {
+        if (0 == arguments.length) {
+            return of(rawClass);
+        }
+        if (rawClass.getTypeParameters().length != arguments.length) {
+            throw new IllegalArgumentException("Wrong number of type arguments for " + rawClass.getName() + '.');
+        }
+        // Probe shares arguments of caller, they are copied only if key is not interned yet.
+        TypeKey probe = new TypeKey(rawClass, arguments);
+        if (null == probe.owner) {
+            return new TypeKey(rawClass, arguments.clone());
+        }
+        ConcurrentMap<TypeKey, TypeKey> keys = PARAMETERIZED_KEYS.get(probe.owner);
+        TypeKey key = keys.get(probe);
+        if (null != key) {
+            return key;
+        }
+        key = new TypeKey(rawClass, arguments.clone());
+        TypeKey interned = keys.putIfAbsent(key, key);
+        return null == interned ? key : interned;
+    }
+
+    /**
+     * Returns key of specified type.
+     *
+     * @param type class, parameterized type, generic array, wildcard or type variable
+     * @return interned key
+     * @throws IllegalArgumentException if type is not supported
+     */
+    public static TypeKey of(Type type) {
+        if (type instanceof Class<?>) {
+            return of((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            TypeKey[] arguments = new TypeKey[typeArguments.length];
+            for (int i = 0; i < arguments.length; ++i) {
+                arguments[i] = of(typeArguments[i]);
+            }
+            return of((Class<?>) parameterizedType.getRawType(), arguments);
+        }
+        if (type instanceof GenericArrayType) {
+            Class<?> componentClass = of(((GenericArrayType) type).getGenericComponentType()).rawClass;
+            return of(Array.newInstance(componentClass, 0).getClass());
+        }
+        if (type instanceof WildcardType) {
+            return of(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?>) {
+            // Bounds may refer to the variable itself, e.g. T extends Comparable<T>, so they are erased.
+            return of(erase(type));
+        }
+        throw new IllegalArgumentException("Unsupported type " + type.getTypeName() + '.');
+    }
+
+    private static Class<?> erase(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(erase(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return erase(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?>) {
+            return erase(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        throw new IllegalArgumentException("Unsupported type " + type.getTypeName() + '.');
+    }
+
+    public Class<?> getRawClass() {
+        return rawClass;
+    }
+
+    public boolean isParameterized() {
+        return 0 != arguments.length;
+    }
+
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    public TypeKey getArgument(int index) {
+        return arguments[index];
+    }
+
+    /**
+     * Returns name of type, class name for classes and e.g. {@code java.util.List<java.lang.String>} for
+     * parameterized types. Beans of parameterized types are registered in container under these names.
+     *
+     * @return type name
+     */
+    public String getName() {
+        String current = name;
+        if (null == current) {
+            StringBuilder builder = new StringBuilder(rawClass.getName()).append('<');
+            for (int i = 0; i < arguments.length; ++i) {
+                if (0 != i) {
+                    builder.append(", ");
+                }
+                builder.append(arguments[i].getName());
+            }
+            current = builder.append('>').toString();
+            name = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns type represented by this key.
+     *
+     * @return class or parameterized type
+     */
+    public Type getType() {
+        Type current = type;
+        if (null == current) {
+            if (0 == arguments.length) {
+                current = rawClass;
+            } else {
+                Type[] types = new Type[arguments.length];
+                for (int i = 0; i < types.length; ++i) {
+                    types[i] = arguments[i].getType();
+                }
+                current = TypeUtils.parameterize(rawClass, types);
+            }
+            type = current;
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TypeKey)) {
+            return false;
+        }
+        TypeKey other = (TypeKey) obj;
+        if (hash != other.hash || rawClass != other.rawClass || arguments.length != other.arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < arguments.length; ++i) {
+            // Arguments are usually interned, keys of classes of unrelated loaders are compared by value.
+            if (arguments[i] != other.arguments[i] && !arguments[i].equals(other.arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,118 @@
+package name.codemax.mininject.util;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * @author Maksim Osipov
+ */
+public class TypeUtils {
+    private static class ParameterizedTypeImpl implements ParameterizedType {
+        private final Class<?> rawType;
+        private final Type[] arguments;
+
+        private ParameterizedTypeImpl(Class<?> rawType, Type[] arguments) {
+            this.rawType = rawType;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return rawType.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType other = (ParameterizedType) obj;
+            return rawType.equals(other.getRawType()) &&
+                    Objects.equals(getOwnerType(), other.getOwnerType()) &&
+                    Arrays.equals(arguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(rawType.getName()).append('<');
+            for (int i = 0; i < arguments.length; ++i) {
+                if (0 != i) {
+                    builder.append(", ");
+                }
+                builder.append(arguments[i].getTypeName());
+            }
+            return builder.append('>').toString();
+        }
+    }
+
+    public static Class<?> getRawClass(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<Object>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return getRawClass(((ParameterizedType) type).getRawType());
+        }
+        return null;
+    }
+
+    public static Class<?> getFirstGeneric(Type type) {
+        Type parameter = getFirstGenericType(type);
+        return null == parameter ? null : getRawClass(parameter);
+    }
+
+    /**
+     * Returns first type argument of parameterized type as is, e.g. {@code List<Foo>} for
+     * {@code Provider<List<Foo>>}.
+     *
+     * @param type parameterized type
+     * @return first type argument or null if type is not parameterized
+     */
+    public static Type getFirstGenericType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type[] parameters = ((ParameterizedType) type).getActualTypeArguments();
+            if (parameters.length > 0) {
+                return parameters[0];
+            }
+        }
+        return null;
+    }
+
+    public static int getGenericParametersCount(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments().length;
+        }
+        return 0;
+    }
+
+    /**
+     * Creates parameterized type with specified raw class and type arguments. Created type is equal to the one
+     * obtained using reflection for the same declaration.
+     *
+     * @param rawType   generic class
+     * @param arguments actual type arguments
+     * @return parameterized type
+     */
+    public static ParameterizedType parameterize(Class<?> rawType, Type... arguments) {
+        if (rawType.getTypeParameters().length != arguments.length) {
+            throw new IllegalArgumentException("Wrong number of type arguments for " + rawType.getName() + '.');
+        }
+        return new ParameterizedTypeImpl(rawType, arguments.clone());
+    }
+}
@@ -0,0 +1,588 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.BeanBatch;
+import name.codemax.mininject.container.BeanContainer;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.ListableBeanContainer;
+import name.codemax.mininject.scopes.CallScope;
+import name.codemax.mininject.scopes.RequestScope;
+import name.codemax.mininject.scopes.ScopeContext;
+import name.codemax.mininject.scopes.ThreadScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class BeanContainerImplTest {
+    private interface SimpleInterface {
+        String doSomething();
+
+        int getNumber();
+
+        void setNumber(int num);
+    }
+
+    private interface Combiner {
+        String combine();
+    }
+
+    private static class SimpleInterfaceImpl implements SimpleInterface {
+        private int number = 0;
+
+        public SimpleInterfaceImpl() {
+        }
+
+        public SimpleInterfaceImpl(int num) {
+            number = num;
+        }
+
+        @Override
+        public String doSomething() {
+            return "hello";
+        }
+
+        @Override
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public void setNumber(int num) {
+            number = num;
+        }
+    }
+
+    private static class CombinerImpl implements Combiner {
+        private final SimpleInterface obj;
+
+        public CombinerImpl(SimpleInterface obj) {
+            this.obj = obj;
+        }
+
+        @Override
+        public String combine() {
+            return obj.doSomething() + " " + obj.getNumber();
+        }
+    }
+
+    @Test
+    public void testSimpleClass() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register(new SimpleInterfaceImpl());
+        SimpleInterfaceImpl impl = beanContainer.get(SimpleInterfaceImpl.class);
+        Assert.assertEquals("hello", impl.doSomething());
+    }
+
+    @Test
+    public void testSimpleInterface() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register(SimpleInterface.class, new SimpleInterfaceImpl());
+        SimpleInterface impl = beanContainer.get(SimpleInterface.class);
+        Assert.assertEquals("hello", impl.doSomething());
+    }
+
+    @Test
+    public void testSingletonFactory() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> new SimpleInterfaceImpl());
+        SimpleInterface impl1 = beanContainer.get(SimpleInterface.class);
+        Assert.assertEquals("hello", impl1.doSomething());
+        impl1.setNumber(42);
+        SimpleInterface impl2 = beanContainer.get(SimpleInterface.class);
+        Assert.assertEquals(42, impl2.getNumber());
+    }
+
+    @Test
+    public void testConcurrentSingletonFactory() throws Exception {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        AtomicInteger count = new AtomicInteger();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> {
+            count.incrementAndGet();
+            return new SimpleInterfaceImpl();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SimpleInterface>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; ++i) {
+                futures.add(executor.submit(() -> beanContainer.get(SimpleInterface.class)));
+            }
+            SimpleInterface bean = beanContainer.get(SimpleInterface.class);
+            for (Future<SimpleInterface> future : futures) {
+                Assert.assertSame(bean, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testCrossThreadLazyCycle() throws Exception {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AtomicInteger simpleCalls = new AtomicInteger();
+        AtomicInteger combinerCalls = new AtomicInteger();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> {
+            if (1 == simpleCalls.incrementAndGet()) {
+                await(barrier);
+                ctx.get(Combiner.class);
+            }
+            return new SimpleInterfaceImpl(42);
+        });
+        beanContainer.registerLazy(Combiner.class, ctx -> {
+            if (1 == combinerCalls.incrementAndGet()) {
+                await(barrier);
+                return new CombinerImpl(ctx.get(SimpleInterface.class));
+            }
+            return new CombinerImpl(new SimpleInterfaceImpl(42));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = Arrays.asList(
+                    executor.submit(() -> beanContainer.get(SimpleInterface.class)),
+                    executor.submit(() -> beanContainer.get(Combiner.class)));
+            int failures = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+                    Assert.assertTrue(e.getCause().getMessage().startsWith("Circular dependency of lazy bean "));
+                    ++failures;
+                }
+            }
+            Assert.assertTrue(failures > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void testAsyncBean() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        AtomicInteger count = new AtomicInteger();
+        CompletableFuture<SimpleInterface> pending = new CompletableFuture<>();
+        beanContainer.registerAsync(SimpleInterface.class, ctx -> {
+            count.incrementAndGet();
+            return pending;
+        });
+        beanContainer.registerAsync("failing", ctx -> CompletableFuture.failedFuture(new IOException("Failure.")));
+        beanContainer.startAsync();
+        beanContainer.startAsync();
+        Assert.assertEquals(1, count.get());
+
+        CompletionStage<SimpleInterface> stage = beanContainer.getAsync(SimpleInterface.class.getName());
+        Assert.assertFalse(stage.toCompletableFuture().isDone());
+        Assert.assertNull(beanContainer.getAsync("missing").toCompletableFuture().join());
+        SimpleInterfaceImpl bean = new SimpleInterfaceImpl();
+        pending.complete(bean);
+        Assert.assertSame(bean, stage.toCompletableFuture().join());
+        Assert.assertSame(bean, beanContainer.get(SimpleInterface.class));
+        Assert.assertEquals(1, count.get());
+
+        try {
+            beanContainer.get("failing");
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Asynchronous initialization of bean failing has failed.", e.getMessage());
+            Assert.assertEquals("Failure.", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testRegisterAll() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        SimpleInterfaceImpl first = new SimpleInterfaceImpl(1);
+        beanContainer.register("first", first);
+        beanContainer.bind(SimpleInterface.class.getName(), "first");
+        Assert.assertEquals(Arrays.asList(first), beanContainer.list(SimpleInterface.class));
+
+        SimpleInterfaceImpl second = new SimpleInterfaceImpl(2);
+        AtomicInteger count = new AtomicInteger();
+        beanContainer.registerAll(new BeanBatch(2, 3)
+                .register("second", second)
+                .registerLazy(Combiner.class, ctx -> {
+                    count.incrementAndGet();
+                    return new CombinerImpl(ctx.get("second"));
+                })
+                .bind(SimpleInterface.class.getName(), "second", true)
+                .bind(SimpleInterface.class.getName(), "first")
+                .bind("combiner", Combiner.class.getName()));
+        Assert.assertEquals(Arrays.asList(first, second), beanContainer.list(SimpleInterface.class));
+        Assert.assertSame(second, beanContainer.get(SimpleInterface.class));
+        Assert.assertEquals("hello 2", beanContainer.<Combiner>get("combiner").combine());
+        Assert.assertSame(beanContainer.get(Combiner.class), beanContainer.get("combiner"));
+        Assert.assertEquals(1, count.get());
+
+        try {
+            beanContainer.registerAll(new BeanBatch()
+                    .register("third", new SimpleInterfaceImpl(3))
+                    .registerScoped("scoped", "unknown", ctx -> new SimpleInterfaceImpl()));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to register scoped due to scope unknown is not registered.", e.getMessage());
+        }
+        Assert.assertNull(beanContainer.get("third"));
+
+        beanContainer.freeze();
+        try {
+            beanContainer.registerAll(new BeanBatch().bind("name", "first"));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to register name due to bean container is frozen.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testConcurrentBinding() throws Exception {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; ++j) {
+                        String name = "impl" + thread + '.' + j;
+                        beanContainer.register(name, new SimpleInterfaceImpl());
+                        beanContainer.bind(SimpleInterface.class.getName(), name, 0 == thread && 999 == j);
+                        beanContainer.bind(SimpleInterface.class.getName(), name, false);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        List<String> names = beanContainer.getBoundNames(SimpleInterface.class.getName());
+        Assert.assertEquals(8000, names.size());
+        Assert.assertEquals(8000, names.stream().distinct().count());
+        Assert.assertEquals("impl0.999", beanContainer.getPrimaryName(SimpleInterface.class.getName()));
+        Assert.assertEquals(8000, beanContainer.list(SimpleInterface.class).size());
+    }
+
+    @Test
+    public void testSingletonFactoryFailureRetry() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl(LazyFailurePolicy.RETRY);
+        AtomicInteger count = new AtomicInteger();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> {
+            if (1 == count.incrementAndGet()) {
+                throw new IllegalArgumentException("failure");
+            }
+            return new SimpleInterfaceImpl();
+        });
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("failure", e.getMessage());
+        }
+        Assert.assertNotNull(beanContainer.get(SimpleInterface.class));
+        Assert.assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testSingletonFactoryFailureCache() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl(LazyFailurePolicy.CACHE);
+        AtomicInteger count = new AtomicInteger();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> {
+            if (1 == count.incrementAndGet()) {
+                throw new IllegalArgumentException("failure");
+            }
+            return new SimpleInterfaceImpl();
+        });
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("failure", e.getMessage());
+        }
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Lazy bean initialization has failed before.", e.getMessage());
+            Assert.assertEquals("failure", e.getCause().getMessage());
+        }
+        Assert.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testObjectFactory() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.registerFactory(SimpleInterface.class, ctx -> new SimpleInterfaceImpl());
+        SimpleInterface impl1 = beanContainer.get(SimpleInterface.class);
+        Assert.assertEquals("hello", impl1.doSomething());
+        impl1.setNumber(42);
+        SimpleInterface impl2 = beanContainer.get(SimpleInterface.class);
+        Assert.assertEquals(0, impl2.getNumber());
+    }
+
+    @Test
+    public void testLazyDependencies() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> new SimpleInterfaceImpl(42));
+        beanContainer.registerLazy(Combiner.class, ctx -> new CombinerImpl(ctx.get(SimpleInterface.class)));
+        Combiner impl = beanContainer.get(Combiner.class);
+        Assert.assertEquals("hello 42", impl.combine());
+    }
+
+    @Test
+    public void testSelfRegistration() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        Assert.assertTrue(beanContainer == beanContainer.get(BeanContainer.class));
+        Assert.assertTrue(beanContainer == beanContainer.get(ListableBeanContainer.class));
+        Assert.assertTrue(beanContainer == beanContainer.get(ConfigurableBeanContainer.class));
+    }
+
+    @Test
+    public void testClassLookupAfterRegistration() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        Assert.assertNull(beanContainer.get(SimpleInterface.class));
+        Assert.assertTrue(beanContainer.list(SimpleInterface.class).isEmpty());
+        beanContainer.register(new SimpleInterfaceImpl(1));
+        beanContainer.bind(SimpleInterface.class, SimpleInterfaceImpl.class);
+        Assert.assertEquals(1, beanContainer.get(SimpleInterface.class).getNumber());
+        Assert.assertEquals(1, beanContainer.list(SimpleInterface.class).size());
+        beanContainer.register(new SimpleInterfaceImpl(2));
+        Assert.assertEquals(2, beanContainer.get(SimpleInterface.class).getNumber());
+        Assert.assertSame(beanContainer.get(SimpleInterface.class.getName()), beanContainer.get(SimpleInterface.class));
+    }
+
+    @Test
+    public void testSupplier() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        Supplier<SimpleInterface> supplier = beanContainer.getSupplier(SimpleInterface.class);
+        Assert.assertNull(supplier.get());
+
+        AtomicInteger count = new AtomicInteger();
+        beanContainer.registerLazy(SimpleInterface.class, ctx -> new SimpleInterfaceImpl(count.incrementAndGet()));
+        SimpleInterface singleton = supplier.get();
+        Assert.assertSame(singleton, supplier.get());
+        Assert.assertEquals(1, count.get());
+
+        beanContainer.registerFactory(SimpleInterface.class, ctx -> new SimpleInterfaceImpl(42));
+        SimpleInterface bean = supplier.get();
+        Assert.assertEquals(42, bean.getNumber());
+        Assert.assertNotSame(bean, supplier.get());
+    }
+
+    @Test
+    public void testMapCache() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register("first", new SimpleInterfaceImpl(1));
+        beanContainer.registerLazy("second", ctx -> new SimpleInterfaceImpl(2));
+        beanContainer.bind(SimpleInterface.class.getName(), "first");
+        beanContainer.bind(SimpleInterface.class.getName(), "second");
+        Map<String, SimpleInterface> map = beanContainer.map(SimpleInterface.class.getName());
+        Assert.assertEquals(Arrays.asList("first", "second"), new ArrayList<>(map.keySet()));
+        Assert.assertEquals(2, map.get("second").getNumber());
+        Assert.assertSame(map, beanContainer.map(SimpleInterface.class.getName()));
+
+        beanContainer.register("second", new SimpleInterfaceImpl(3));
+        Map<String, SimpleInterface> updated = beanContainer.map(SimpleInterface.class.getName());
+        Assert.assertNotSame(map, updated);
+        Assert.assertEquals(3, updated.get("second").getNumber());
+
+        beanContainer.registerFactory("third", ctx -> new SimpleInterfaceImpl(4));
+        beanContainer.bind(SimpleInterface.class.getName(), "third");
+        Map<String, SimpleInterface> prototypes = beanContainer.map(SimpleInterface.class.getName());
+        Assert.assertEquals(3, prototypes.size());
+        Map<String, SimpleInterface> other = beanContainer.map(SimpleInterface.class.getName());
+        Assert.assertNotSame(prototypes.get("third"), other.get("third"));
+        Assert.assertSame(prototypes.get("first"), other.get("first"));
+    }
+
+    @Test
+    public void testListCache() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register("first", new SimpleInterfaceImpl(1));
+        beanContainer.registerLazy("second", ctx -> new SimpleInterfaceImpl(2));
+        beanContainer.bind(SimpleInterface.class.getName(), "first");
+        beanContainer.bind(SimpleInterface.class.getName(), "second");
+        List<SimpleInterface> list = beanContainer.list(SimpleInterface.class);
+        Assert.assertEquals(2, list.size());
+        Assert.assertSame(list, beanContainer.list(SimpleInterface.class));
+        Assert.assertSame(list, beanContainer.list(SimpleInterface.class.getName()));
+        try {
+            list.add(new SimpleInterfaceImpl());
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        beanContainer.register(Combiner.class, new CombinerImpl(list.get(0)));
+        Assert.assertSame(list, beanContainer.list(SimpleInterface.class));
+
+        beanContainer.register("second", new SimpleInterfaceImpl(3));
+        List<SimpleInterface> updated = beanContainer.list(SimpleInterface.class);
+        Assert.assertNotSame(list, updated);
+        Assert.assertEquals(3, updated.get(1).getNumber());
+
+        beanContainer.registerFactory("third", ctx -> new SimpleInterfaceImpl(4));
+        beanContainer.bind(SimpleInterface.class.getName(), "third");
+        List<SimpleInterface> prototypes = beanContainer.list(SimpleInterface.class);
+        Assert.assertEquals(3, prototypes.size());
+        Assert.assertNotSame(prototypes, beanContainer.list(SimpleInterface.class));
+        Assert.assertSame(prototypes.get(0), beanContainer.list(SimpleInterface.class).get(0));
+    }
+
+    @Test
+    public void testThreadScope() throws Exception {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.registerScope("thread", new ThreadScope());
+        beanContainer.registerScoped(SimpleInterface.class, "thread", ctx -> new SimpleInterfaceImpl());
+        SimpleInterface bean = beanContainer.get(SimpleInterface.class);
+        Assert.assertSame(bean, beanContainer.get(SimpleInterface.class));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SimpleInterface otherBean = executor.submit(() -> beanContainer.get(SimpleInterface.class)).get();
+            Assert.assertNotSame(bean, otherBean);
+            Assert.assertSame(otherBean, executor.submit(() -> beanContainer.get(SimpleInterface.class)).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRequestScope() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        RequestScope scope = new RequestScope();
+        beanContainer.registerScope("request", scope);
+        beanContainer.registerScoped(SimpleInterface.class, "request", ctx -> new SimpleInterfaceImpl());
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("There is no active request.", e.getMessage());
+        }
+        SimpleInterface bean;
+        ScopeContext context;
+        try (RequestScope.Activation request = scope.begin()) {
+            bean = beanContainer.get(SimpleInterface.class);
+            Assert.assertSame(bean, beanContainer.get(SimpleInterface.class));
+            context = request.getContext();
+            try (RequestScope.Activation ignored = scope.begin()) {
+                Assert.assertNotSame(bean, beanContainer.get(SimpleInterface.class));
+            }
+            try (RequestScope.Activation ignored = scope.activate(context)) {
+                Assert.assertSame(bean, beanContainer.get(SimpleInterface.class));
+            }
+            Assert.assertSame(bean, beanContainer.get(SimpleInterface.class));
+        }
+        try (RequestScope.Activation ignored = scope.begin()) {
+            Assert.assertNotSame(bean, beanContainer.get(SimpleInterface.class));
+        }
+    }
+
+    @Test
+    public void testCallScope() throws Exception {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        CallScope scope = new CallScope();
+        beanContainer.registerScope("call", scope);
+        beanContainer.registerScoped(SimpleInterface.class, "call", ctx -> new SimpleInterfaceImpl());
+        SimpleInterface bean = scope.call(() -> {
+            SimpleInterface outer = beanContainer.get(SimpleInterface.class);
+            Assert.assertSame(outer, beanContainer.get(SimpleInterface.class));
+            scope.run(() -> Assert.assertNotSame(outer, beanContainer.get(SimpleInterface.class)));
+            Assert.assertSame(outer, beanContainer.get(SimpleInterface.class));
+            return outer;
+        });
+        Assert.assertNotSame(bean, scope.call(() -> beanContainer.get(SimpleInterface.class)));
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("There is no active call scope.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUnknownScope() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        try {
+            beanContainer.registerScoped(SimpleInterface.class, "unknown", ctx -> new SimpleInterfaceImpl());
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to register " + SimpleInterface.class.getName() +
+                    " due to scope unknown is not registered.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFreeze() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register(new SimpleInterfaceImpl(42));
+        beanContainer.registerFactory(CombinerImpl.class, ctx -> new CombinerImpl(ctx.get(SimpleInterface.class)));
+        beanContainer.bind(SimpleInterface.class, SimpleInterfaceImpl.class);
+        beanContainer.bind(Combiner.class, CombinerImpl.class);
+        beanContainer.freeze();
+        Assert.assertTrue(beanContainer.isFrozen());
+
+        Assert.assertEquals("hello 42", beanContainer.get(Combiner.class).combine());
+        Assert.assertNotSame(beanContainer.get(Combiner.class), beanContainer.get(Combiner.class));
+        Assert.assertSame(beanContainer.get(SimpleInterfaceImpl.class), beanContainer.get(SimpleInterface.class));
+        Assert.assertEquals(1, beanContainer.list(SimpleInterface.class).size());
+        Assert.assertTrue(beanContainer.list(Runnable.class).isEmpty());
+        Assert.assertNull(beanContainer.get(Runnable.class));
+        Assert.assertSame(beanContainer, beanContainer.get(ConfigurableBeanContainer.class));
+
+        try {
+            beanContainer.register(SimpleInterface.class, new SimpleInterfaceImpl());
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to register " + SimpleInterface.class.getName() +
+                    " due to bean container is frozen.", e.getMessage());
+        }
+        try {
+            beanContainer.bind(Combiner.class, CombinerImpl.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to register " + Combiner.class.getName() +
+                    " due to bean container is frozen.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFreezeAmbiguousBinding() {
+        BeanContainerImpl beanContainer = new BeanContainerImpl();
+        beanContainer.register("first", new SimpleInterfaceImpl(1));
+        beanContainer.register("second", new SimpleInterfaceImpl(2));
+        beanContainer.bind(SimpleInterface.class.getName(), "first");
+        beanContainer.bind(SimpleInterface.class.getName(), "second");
+        beanContainer.freeze();
+
+        Assert.assertEquals(2, beanContainer.list(SimpleInterface.class).size());
+        try {
+            beanContainer.get(SimpleInterface.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("There are more than one implementation registered for " +
+                    SimpleInterface.class.getName() + '.', e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package name.codemax.mininject.container.impl;
+
+import name.codemax.mininject.container.BeanBatch;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Maksim Osipov
+ */
+public class ChildBeanContainerTest {
+    private interface Service {
+    }
+
+    private static class ServiceImpl implements Service {
+    }
+
+    private static class OtherServiceImpl implements Service {
+    }
+
+    private static class Consumer {
+        private final Service service;
+
+        private Consumer(Service service) {
+            this.service = service;
+        }
+    }
+
+    private BeanContainerImpl parent;
+    private ServiceImpl parentService;
+
+    @Before
+    public void setUp() {
+        parent = new BeanContainerImpl();
+        parentService = new ServiceImpl();
+        parent.register(ServiceImpl.class, parentService);
+        parent.bind(Service.class, ServiceImpl.class);
+        parent.registerFactory(Consumer.class, ctx -> new Consumer(ctx.get(Service.class)));
+        parent.freeze();
+    }
+
+    @Test
+    public void testDelegation() {
+        ChildBeanContainer child = parent.createChild();
+        Assert.assertSame(parentService, child.get(Service.class));
+        Assert.assertSame(parentService, child.get(ServiceImpl.class));
+        Assert.assertEquals(Arrays.asList(parentService), child.list(Service.class));
+        Assert.assertNull(child.get(OtherServiceImpl.class));
+        Assert.assertSame(child, child.get(ConfigurableBeanContainer.class));
+        Assert.assertSame(parent, child.get(BeanContainerImpl.class));
+    }
+
+    @Test
+    public void testOverride() {
+        ChildBeanContainer child = parent.createChild();
+        ServiceImpl childService = new ServiceImpl();
+        child.register(ServiceImpl.class, childService);
+        Assert.assertSame(childService, child.get(Service.class));
+        Assert.assertSame(childService, child.get(ServiceImpl.class));
+        Assert.assertEquals(Arrays.asList(childService), child.list(Service.class));
+        Assert.assertSame(parentService, parent.get(Service.class));
+        Assert.assertSame(parentService, child.get(Consumer.class).service);
+    }
+
+    @Test
+    public void testOverrideAndRebind() {
+        ChildBeanContainer child = parent.createChild();
+        ServiceImpl childService = new ServiceImpl();
+        child.register(ServiceImpl.class, childService);
+        child.bind(Service.class, ServiceImpl.class);
+        Assert.assertSame(childService, child.get(Service.class));
+        Assert.assertEquals(Arrays.asList(childService), child.list(Service.class));
+        Assert.assertEquals(Arrays.asList(ServiceImpl.class.getName()), child.listNames(Service.class.getName()));
+        Assert.assertEquals(Arrays.asList(ServiceImpl.class.getName()),
+                child.getDefinitionNames(Service.class.getName()));
+    }
+
+    @Test
+    public void testRegisterAll() {
+        ChildBeanContainer child = parent.createChild();
+        OtherServiceImpl otherService = new OtherServiceImpl();
+        child.registerAll(new BeanBatch()
+                .register(OtherServiceImpl.class, otherService)
+                .bind(Service.class.getName(), OtherServiceImpl.class.getName(), true));
+        Assert.assertSame(otherService, child.get(Service.class));
+        Assert.assertEquals(Arrays.asList(parentService, otherService), child.list(Service.class));
+        Assert.assertSame(parentService, parent.get(Service.class));
+    }
+
+    @Test
+    public void testBindingMerge() {
+        ChildBeanContainer child = parent.createChild();
+        OtherServiceImpl otherService = new OtherServiceImpl();
+        child.register(OtherServiceImpl.class, otherService);
+        child.bind(Service.class, OtherServiceImpl.class);
+        List<Service> services = child.list(Service.class);
+        Assert.assertEquals(Arrays.asList(parentService, otherService), services);
+        try {
+            child.get(Service.class);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("There are more than one implementation registered for " + Service.class.getName() +
+                    '.', e.getMessage());
+        }
+        child.bind(Service.class, OtherServiceImpl.class, true);
+        Assert.assertSame(otherService, child.get(Service.class));
+        Assert.assertEquals(1, parent.list(Service.class).size());
+    }
+
+    @Test
+    public void testLocalFactories() {
+        ChildBeanContainer child = parent.createChild();
+        child.registerLazy(Consumer.class, ctx -> new Consumer(ctx.get(Service.class)));
+        Consumer consumer = child.get(Consumer.class);
+        Assert.assertSame(consumer, child.get(Consumer.class));
+        Assert.assertSame(parentService, consumer.service);
+        Assert.assertNotSame(consumer, parent.get(Consumer.class));
+    }
+}
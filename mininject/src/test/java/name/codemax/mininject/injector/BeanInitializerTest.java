@@ -0,0 +1,451 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Maksim Osipov
+ */
+public class BeanInitializerTest {
+    private ConfigurableBeanContainer beanContainer;
+    private BeanInitializer initializer;
+
+    private static class InjectableBean {
+    }
+
+    @Singleton
+    private static class SlowSingleton {
+        public SlowSingleton() throws InterruptedException {
+            Thread.sleep(20);
+        }
+    }
+
+    private static class SlowSingletonConsumer {
+        @Inject
+        private SlowSingleton singleton;
+    }
+
+    @Singleton
+    private static class CyclicSingleton {
+        @Inject
+        public CyclicSingleton(CyclicDependency dependency) {
+        }
+    }
+
+    @Singleton
+    private static class CyclicDependency {
+        @Inject
+        public CyclicDependency(CyclicSingleton singleton) {
+        }
+    }
+
+    private static class CyclicSingletonConsumer {
+        @Inject
+        private CyclicSingleton singleton;
+    }
+
+    private static class CyclicDependencyConsumer {
+        @Inject
+        private CyclicDependency dependency;
+    }
+
+    private static class TestBean {
+        private InjectableBean field;
+        @Inject
+        private InjectableBean annotatedField;
+        private InjectableBean init;
+        private InjectableBean initAnnotated;
+
+        public void init(InjectableBean value) {
+            init = value;
+        }
+
+        @Inject
+        public void initAnnotated(InjectableBean value) {
+            initAnnotated = value;
+        }
+    }
+
+    private static class BeanWithInjectConstructor {
+        private InjectableBean injectable;
+
+        @Inject
+        public BeanWithInjectConstructor(InjectableBean bean) {
+            injectable = bean;
+        }
+    }
+
+    private static class BeanWithTwoInjectConstructors {
+        @Inject
+        public BeanWithTwoInjectConstructors(InjectableBean bean) {
+        }
+
+        @Inject
+        public BeanWithTwoInjectConstructors(InjectableBean bean1, InjectableBean bean2) {
+        }
+    }
+
+    private static class BeanWithDefaultConstructor {
+        private int field = 5;
+
+        public BeanWithDefaultConstructor() {
+            field = 42;
+        }
+
+        public BeanWithDefaultConstructor(int value) {
+            field = value;
+        }
+    }
+
+    private static class BeanWithNoDefaultConstructor {
+        public BeanWithNoDefaultConstructor(int value) {
+        }
+    }
+
+    private interface TestInterface {
+    }
+
+    private static class BeanWithExceptionInConstructor {
+        public BeanWithExceptionInConstructor() throws Exception {
+            throw new Exception("Error in constructor.");
+        }
+    }
+
+    private static class BeanWithExceptionInInjectMethod {
+        @Inject
+        public void test() throws Exception {
+            throw new Exception("Error in @Inject method.");
+        }
+    }
+
+    private static class BeanWithErrorInConstructor {
+        public BeanWithErrorInConstructor() {
+            throw new AssertionError("Error in constructor.");
+        }
+    }
+
+    private static class DependencyBean {
+        @Inject
+        private InjectableBean injectable;
+        private boolean initialized;
+
+        @Inject
+        public void init() {
+            initialized = true;
+        }
+    }
+
+    private static class DependentBean {
+        @Inject
+        private DependencyBean dependency;
+        private boolean dependencyInitialized;
+
+        @Inject
+        public void init() {
+            dependencyInitialized = dependency.initialized;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        beanContainer = new BeanContainerImpl();
+        initializer = new BeanInitializer(beanContainer);
+    }
+
+    @After
+    public void tearDown() {
+        initializer = null;
+        beanContainer = null;
+    }
+
+    @Test
+    public void testInjectField() throws NoSuchFieldException {
+        TestBean bean = new TestBean();
+        Field field = TestBean.class.getDeclaredField("field");
+        Assert.assertNull(bean.field);
+        initializer.injectField(bean, field);
+        Assert.assertNotNull(bean.field);
+        Field annotatedField = TestBean.class.getDeclaredField("annotatedField");
+        Assert.assertNull(bean.annotatedField);
+        initializer.injectField(bean, annotatedField);
+        Assert.assertNotNull(bean.annotatedField);
+    }
+
+    @Test
+    public void testInvokeInjectMethod() throws NoSuchMethodException {
+        TestBean bean = new TestBean();
+        Method method = TestBean.class.getDeclaredMethod("init", InjectableBean.class);
+        Assert.assertNull(bean.init);
+        initializer.invokeInjectMethod(bean, method);
+        Assert.assertNotNull(bean.init);
+        Method annotatedMethod = TestBean.class.getDeclaredMethod("initAnnotated", InjectableBean.class);
+        Assert.assertNull(bean.initAnnotated);
+        initializer.invokeInjectMethod(bean, annotatedMethod);
+        Assert.assertNotNull(bean.initAnnotated);
+    }
+
+    @Test
+    public void testInjectBean() {
+        TestBean bean = new TestBean();
+        Assert.assertNull(bean.field);
+        Assert.assertNull(bean.annotatedField);
+        Assert.assertNull(bean.init);
+        Assert.assertNull(bean.initAnnotated);
+        initializer.initializeBean(bean);
+        Assert.assertNull(bean.field);
+        Assert.assertNotNull(bean.annotatedField);
+        Assert.assertNull(bean.init);
+        Assert.assertNotNull(bean.initAnnotated);
+    }
+
+    @Test
+    public void testCreateBeanWithInjectConstructor() {
+        BeanWithInjectConstructor bean = initializer.createBean(BeanWithInjectConstructor.class);
+        Assert.assertNotNull(bean.injectable);
+    }
+
+    @Test
+    public void testCreateBeanWithDefaultConstructor() {
+        BeanWithDefaultConstructor bean = initializer.createBean(BeanWithDefaultConstructor.class);
+        Assert.assertEquals(42, bean.field);
+    }
+
+    @Test
+    public void testReflectionAccessStrategy() {
+        initializer = new BeanInitializer(beanContainer, AccessStrategy.REFLECTION);
+        BeanWithInjectConstructor bean = initializer.createBean(BeanWithInjectConstructor.class);
+        Assert.assertNotNull(bean.injectable);
+        TestBean testBean = initializer.createBean(TestBean.class);
+        initializer.initializeBean(testBean);
+        Assert.assertNotNull(testBean.annotatedField);
+        Assert.assertNotNull(testBean.initAnnotated);
+    }
+
+    @Test
+    public void testReflectionAccessStrategyExceptionInConstructor() {
+        initializer = new BeanInitializer(beanContainer, AccessStrategy.REFLECTION);
+        try {
+            initializer.createBean(BeanWithExceptionInConstructor.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Error occurred during bean " + BeanWithExceptionInConstructor.class.getName() +
+                    " instantiation: Error in constructor.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInjectMode() {
+        TestBean bean1 = new TestBean();
+        TestBean bean2 = new TestBean();
+        initializer.initialize(bean1);
+        Assert.assertNull(bean1.field);
+        Assert.assertNull(bean1.annotatedField);
+        Assert.assertNull(bean1.init);
+        Assert.assertNull(bean1.initAnnotated);
+        initializer.disableDeferredInjection();
+        Assert.assertNull(bean1.field);
+        Assert.assertNotNull(bean1.annotatedField);
+        Assert.assertNull(bean1.init);
+        Assert.assertNotNull(bean1.initAnnotated);
+        initializer.initialize(bean2);
+        Assert.assertNull(bean2.field);
+        Assert.assertNotNull(bean2.annotatedField);
+        Assert.assertNull(bean2.init);
+        Assert.assertNotNull(bean2.initAnnotated);
+    }
+
+    @Test
+    public void testParallelDeferredInjection() {
+        DependencyBean dependency = new DependencyBean();
+        beanContainer.register(DependencyBean.class, dependency);
+        List<TestBean> beans = new ArrayList<>();
+        List<DependentBean> dependents = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            DependentBean dependent = new DependentBean();
+            dependents.add(dependent);
+            initializer.initialize(dependent);
+            TestBean bean = new TestBean();
+            beans.add(bean);
+            initializer.initialize(bean);
+        }
+        initializer.initialize(dependency);
+        initializer.disableDeferredInjection(ForkJoinPool.commonPool());
+        Assert.assertFalse(initializer.isDeferredInjectionEnabled());
+        Assert.assertNotNull(dependency.injectable);
+        for (DependentBean dependent : dependents) {
+            Assert.assertSame(dependency, dependent.dependency);
+            Assert.assertTrue(dependent.dependencyInitialized);
+        }
+        for (TestBean bean : beans) {
+            Assert.assertNotNull(bean.annotatedField);
+            Assert.assertNotNull(bean.initAnnotated);
+        }
+    }
+
+    @Test
+    public void testParallelDeferredInjectionCreatesSingletonOnce() {
+        List<SlowSingletonConsumer> consumers = new ArrayList<>();
+        for (int i = 0; i < 32; ++i) {
+            SlowSingletonConsumer consumer = new SlowSingletonConsumer();
+            consumers.add(consumer);
+            initializer.initialize(consumer);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            initializer.disableDeferredInjection(executor);
+        } finally {
+            executor.shutdown();
+        }
+        Set<SlowSingleton> singletons = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SlowSingletonConsumer consumer : consumers) {
+            singletons.add(consumer.singleton);
+        }
+        Assert.assertEquals(1, singletons.size());
+        Assert.assertSame(beanContainer.get(SlowSingleton.class), consumers.get(0).singleton);
+    }
+
+    @Test
+    public void testParallelDeferredInjectionCyclicSingletons() throws Exception {
+        for (int i = 0; i < 8; ++i) {
+            initializer.initialize(new CyclicSingletonConsumer());
+            initializer.initialize(new CyclicDependencyConsumer());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> injection = caller.submit(() -> initializer.disableDeferredInjection(executor));
+            try {
+                injection.get(10, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof InjectionException);
+            }
+        } finally {
+            caller.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelDeferredInjectionErrors() {
+        initializer.initialize(new TestBean());
+        initializer.initialize(new BeanWithExceptionInInjectMethod());
+        initializer.initialize(new TestBean());
+        initializer.initialize(new BeanWithExceptionInInjectMethod());
+        try {
+            initializer.disableDeferredInjection(ForkJoinPool.commonPool());
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Deferred injection failed for 2 bean(s), first failure in " +
+                    BeanWithExceptionInInjectMethod.class.getName() + ": Error occurred during call @Inject method " +
+                    BeanWithExceptionInInjectMethod.class.getName() + "#test: Error in @Inject method.",
+                    e.getMessage());
+            Assert.assertEquals(1, e.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void testFailCreateBeanWithNoDefaultConstructor() {
+        try {
+            initializer.createBean(BeanWithNoDefaultConstructor.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to instantiate bean " + BeanWithNoDefaultConstructor.class.getName() +
+                    " due to it has nor default neither @Inject constructor.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFailCreateBeanWithTwoInjectConstructors() {
+        try {
+            initializer.createBean(BeanWithTwoInjectConstructors.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to instantiate bean " + BeanWithTwoInjectConstructors.class.getName() +
+                    " due to it has more than one @Inject constructor.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFailInterfaceInstantiation() {
+        try {
+            initializer.createBean(TestInterface.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to call bean constructor due to " + TestInterface.class.getName() +
+                    " is interface.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testExceptionInConstructor() {
+        try {
+            initializer.createBean(BeanWithExceptionInConstructor.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Error occurred during bean " + BeanWithExceptionInConstructor.class.getName() +
+                    " instantiation: Error in constructor.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testExceptionInInjectMethod() {
+        try {
+            BeanWithExceptionInInjectMethod bean = initializer.createBean(BeanWithExceptionInInjectMethod.class);
+            initializer.initializeBean(bean);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Error occurred during call @Inject method " +
+                            BeanWithExceptionInInjectMethod.class.getName() + "#test: Error in @Inject method.",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMethodHandleAccessorExceptions() throws Exception {
+        MemberAccessorFactory.ConstructorAccessor<BeanWithInjectConstructor> constructor =
+                MethodHandleAccessorFactory.INSTANCE.link(
+                        BeanWithInjectConstructor.class.getConstructor(InjectableBean.class));
+        try {
+            constructor.newInstance(new Object[]{"not a bean"});
+            Assert.fail();
+        } catch (ClassCastException e) {
+            // Argument adaptation failure is not reported as thrown by constructor.
+        }
+        try {
+            MethodHandleAccessorFactory.INSTANCE.link(BeanWithErrorInConstructor.class.getConstructor())
+                    .newInstance(new Object[0]);
+            Assert.fail();
+        } catch (AssertionError e) {
+            Assert.assertEquals("Error in constructor.", e.getMessage());
+        }
+        try {
+            MethodHandleAccessorFactory.INSTANCE.link(BeanWithExceptionInConstructor.class.getConstructor())
+                    .newInstance(new Object[0]);
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertEquals("Error in constructor.", e.getCause().getMessage());
+        }
+    }
+}
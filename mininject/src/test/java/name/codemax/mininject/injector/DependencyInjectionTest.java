@@ -0,0 +1,791 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.resolvers.BeanListResolver;
+import name.codemax.mininject.resolvers.BeanMapResolver;
+import name.codemax.mininject.resolvers.BeanProviderResolver;
+import name.codemax.mininject.resolvers.BeanResolver;
+import name.codemax.mininject.resolvers.BeanSetResolver;
+import name.codemax.mininject.resolvers.BeanStageResolver;
+import name.codemax.mininject.util.TypeKey;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Maksim Osipov
+ */
+public class DependencyInjectionTest {
+    private ConfigurableBeanContainer beanContainer;
+    private BeanInjector beanInjector;
+
+    private static class SelfConstructorInjectedBean {
+        @Inject
+        public SelfConstructorInjectedBean(SelfConstructorInjectedBean bean) {
+        }
+    }
+
+    private static class SelfFieldInjectedBean {
+        @Inject
+        private SelfFieldInjectedBean bean;
+    }
+
+    private static class ConcreteDependencyBean {
+        @Inject
+        public ConcreteDependencyBean(InstanceCounterImpl counter) {
+        }
+    }
+
+    @Singleton
+    private static class SelfFieldInjectedSingleton {
+        @Inject
+        private SelfFieldInjectedSingleton bean;
+    }
+
+    private static class SelfMethodInjectedBean {
+        @Inject
+        public void init(SelfMethodInjectedBean bean) {
+        }
+    }
+
+    private static class CyclicConstructorBeanA {
+        @Inject
+        public CyclicConstructorBeanA(CyclicConstructorBeanB bean) {
+        }
+    }
+
+    private static class CyclicConstructorBeanB {
+        @Inject
+        public CyclicConstructorBeanB(CyclicConstructorBeanA bean) {
+        }
+    }
+
+    @Singleton
+    private static class SelfMethodInjectedSingleton {
+        private SelfMethodInjectedSingleton bean;
+
+        @Inject
+        public void init(SelfMethodInjectedSingleton bean) {
+            this.bean = bean;
+        }
+    }
+
+    private interface InstanceCounter {
+    }
+
+    private static class InstanceCounterImpl implements InstanceCounter {
+        private static int count = 0;
+
+        public InstanceCounterImpl() {
+            ++count;
+        }
+    }
+
+    @Singleton
+    private static class InstanceCounterSingleton implements InstanceCounter {
+        private static int count = 0;
+
+        public InstanceCounterSingleton() {
+            ++count;
+        }
+    }
+
+    private interface CounterContainer {
+    }
+
+    private static class CounterContainerImpl implements CounterContainer {
+        @Inject
+        private InstanceCounter counter1;
+        @Inject
+        private InstanceCounter counter2;
+    }
+
+    @Singleton
+    private static class CounterContainerSingleton implements CounterContainer {
+        @Inject
+        private InstanceCounter counter1;
+        @Inject
+        private InstanceCounter counter2;
+    }
+
+    private static class NamedCounterContainer {
+        @Inject
+        @Named("instanceCounter")
+        private InstanceCounter counter;
+    }
+
+    private static class NamedCounterContainerWithConstructor {
+        private InstanceCounter namedInstanceCounter;
+        private InstanceCounter defaultInstanceCounter;
+
+        @Inject
+        public NamedCounterContainerWithConstructor(
+                @Named("instanceCounter") InstanceCounter namedInstanceCounter,
+                InstanceCounter defaultInstanceCounter) {
+            this.namedInstanceCounter = namedInstanceCounter;
+            this.defaultInstanceCounter = defaultInstanceCounter;
+        }
+    }
+
+    private static class IncorrectNamedBeanContainer {
+        @Inject
+        @Named("instanceCounter")
+        private CounterContainer counter;
+    }
+
+    private interface TestComponentInterface {
+        void perform();
+    }
+
+    private static class TestComponentImpl implements TestComponentInterface {
+        @Override
+        public void perform() {
+        }
+    }
+
+    @Singleton
+    private static class TestComponentSingleton implements TestComponentInterface {
+        @Override
+        public void perform() {
+        }
+    }
+
+    private static class TestComponentHolder {
+        @Inject
+        private TestComponentInterface component;
+    }
+
+    private static class TestComponentList {
+        @Inject
+        private List<TestComponentInterface> componentList;
+    }
+
+    private static class TestComponentListWithConstructor {
+        private final List<TestComponentInterface> componentList;
+
+        @Inject
+        public TestComponentListWithConstructor(List<TestComponentInterface> componentList) {
+            this.componentList = componentList;
+        }
+    }
+
+    private static class TestComponentProvider {
+        @Inject
+        private Provider<TestComponentInterface> componentProvider;
+    }
+
+    private static class NestedGenericComponents {
+        @Inject
+        private List<Provider<TestComponentInterface>> providerList;
+        @Inject
+        private Provider<List<TestComponentInterface>> listProvider;
+        @Inject
+        private Supplier<String> stringSupplier;
+        @Inject
+        private Supplier<Integer> integerSupplier;
+    }
+
+    private static class TestComponentRegistry {
+        @Inject
+        private Map<String, TestComponentInterface> componentMap;
+        @Inject
+        private Set<TestComponentInterface> componentSet;
+    }
+
+    private static class UnboundComponentProvider {
+        @Inject
+        private Provider<TestComponentImpl> componentProvider;
+    }
+
+    @Singleton
+    private static class UnboundSingleton {
+    }
+
+    private static class UnboundSingletonHolder {
+        private final UnboundSingleton singleton;
+
+        @Inject
+        public UnboundSingletonHolder(UnboundSingleton singleton) {
+            this.singleton = singleton;
+        }
+    }
+
+    @Singleton
+    private static class WarmUpDependency {
+        private static final AtomicInteger count = new AtomicInteger();
+
+        public WarmUpDependency() {
+            count.incrementAndGet();
+        }
+    }
+
+    @Singleton
+    private static class WarmUpSingleton {
+        private static final AtomicInteger count = new AtomicInteger();
+        private final WarmUpDependency dependency;
+
+        @Inject
+        public WarmUpSingleton(WarmUpDependency dependency) {
+            this.dependency = dependency;
+            count.incrementAndGet();
+        }
+    }
+
+    @Singleton
+    private static class FailingSingleton {
+        public FailingSingleton() {
+            throw new IllegalStateException("Warm-up failure.");
+        }
+    }
+
+    private static class Counter {
+        private final int value;
+
+        private Counter(int value) {
+            this.value = value;
+        }
+    }
+
+    private static class CounterResolver implements BeanResolver {
+        private final AtomicInteger suppliersCount = new AtomicInteger();
+        private final AtomicInteger valuesCount = new AtomicInteger();
+
+        @Override
+        public Collection<Class<?>> getResolvableTypes() {
+            return Collections.singleton(Counter.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> Supplier<T> createSupplier(Type type, InjectionContext context) {
+            suppliersCount.incrementAndGet();
+            return () -> (T) new Counter(valuesCount.incrementAndGet());
+        }
+    }
+
+    private static class CounterHolder {
+        @Inject
+        private Counter counter;
+    }
+
+    private static class AsyncResource {
+        private final String value;
+
+        private AsyncResource(String value) {
+            this.value = value;
+        }
+    }
+
+    private static class AsyncConsumer {
+        @Inject
+        private CompletionStage<AsyncResource> resource;
+        @Inject
+        private CompletableFuture<TestComponentImpl> component;
+    }
+
+    @Before
+    public void setUp() {
+        beanContainer = new BeanContainerImpl();
+        beanInjector = new BeanInjector(beanContainer);
+    }
+
+    @After
+    public void tearDown() {
+        beanInjector = null;
+        beanContainer = null;
+    }
+
+    @Test
+    public void testSelfInjectionInConstructor() {
+        try {
+            beanInjector.bind(SelfConstructorInjectedBean.class);
+            beanInjector.perform();
+            beanContainer.get(SelfConstructorInjectedBean.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to resolve bean " + SelfConstructorInjectedBean.class.getName() +
+                    " due to cyclic reference on itself in dependencies: " + SelfConstructorInjectedBean.class.getName() +
+                    " -> " + SelfConstructorInjectedBean.class.getName() + '.', e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSelfInjectionInField() {
+        try {
+            beanInjector.bind(SelfFieldInjectedBean.class);
+            beanInjector.perform();
+            beanContainer.get(SelfFieldInjectedBean.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to resolve bean " + SelfFieldInjectedBean.class.getName() +
+                    " due to cyclic reference on itself in dependencies: " + SelfFieldInjectedBean.class.getName() +
+                    " -> " + SelfFieldInjectedBean.class.getName() + '.', e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCyclicInjectionPath() {
+        try {
+            beanInjector.bind(CyclicConstructorBeanA.class);
+            beanInjector.bind(CyclicConstructorBeanB.class);
+            beanInjector.perform();
+            beanContainer.get(CyclicConstructorBeanA.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to resolve bean " + CyclicConstructorBeanA.class.getName() +
+                    " due to cyclic reference on itself in dependencies: " + CyclicConstructorBeanA.class.getName() +
+                    " -> " + CyclicConstructorBeanB.class.getName() + " -> " +
+                    CyclicConstructorBeanA.class.getName() + '.', e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBoundClassDependency() {
+        beanInjector.bind(InstanceCounterImpl.class);
+        beanInjector.bind(ConcreteDependencyBean.class);
+        beanInjector.perform();
+        int count = InstanceCounterImpl.count;
+        Assert.assertNotNull(beanContainer.get(ConcreteDependencyBean.class));
+        Assert.assertEquals(count + 1, InstanceCounterImpl.count);
+    }
+
+    @Test
+    public void testSingletonSelfInjectionInField() {
+        beanInjector.bind(SelfFieldInjectedSingleton.class);
+        beanInjector.perform();
+        SelfFieldInjectedSingleton bean = beanContainer.get(SelfFieldInjectedSingleton.class);
+        Assert.assertEquals(bean, bean.bean);
+    }
+
+    @Test
+    public void testSelfInjectionInMethod() {
+        try {
+            beanInjector.bind(SelfMethodInjectedBean.class);
+            beanInjector.perform();
+            beanContainer.get(SelfMethodInjectedBean.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to resolve bean " + SelfMethodInjectedBean.class.getName() +
+                    " due to cyclic reference on itself in dependencies: " + SelfMethodInjectedBean.class.getName() +
+                    " -> " + SelfMethodInjectedBean.class.getName() + '.', e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSingletonSelfInjectionInMethod() {
+        beanInjector.bind(SelfMethodInjectedSingleton.class);
+        beanInjector.perform();
+        SelfMethodInjectedSingleton bean = beanContainer.get(SelfMethodInjectedSingleton.class);
+        Assert.assertEquals(bean, bean.bean);
+    }
+
+    @Test
+    public void testSingletonSelfInjectionInFrozenContainer() {
+        BeanContainerImpl frozenContainer = new BeanContainerImpl();
+        BeanInjector injector = new BeanInjector(frozenContainer);
+        injector.bind(SelfMethodInjectedSingleton.class);
+        injector.bind(InstanceCounter.class, InstanceCounterImpl.class);
+        injector.bind(CounterContainer.class, CounterContainerSingleton.class);
+        injector.perform();
+        frozenContainer.freeze();
+
+        SelfMethodInjectedSingleton bean = frozenContainer.get(SelfMethodInjectedSingleton.class);
+        Assert.assertEquals(bean, bean.bean);
+        Assert.assertSame(frozenContainer.get(CounterContainer.class), frozenContainer.get(CounterContainer.class));
+    }
+
+    @Test
+    public void testUnboundSingletonInFrozenContainer() {
+        BeanContainerImpl frozenContainer = new BeanContainerImpl();
+        BeanInjector injector = new BeanInjector(frozenContainer);
+        injector.bind(UnboundSingletonHolder.class);
+        injector.perform();
+        frozenContainer.freeze();
+
+        UnboundSingletonHolder holder = frozenContainer.get(UnboundSingletonHolder.class);
+        Assert.assertNotNull(holder.singleton);
+        Assert.assertSame(holder.singleton, frozenContainer.get(UnboundSingletonHolder.class).singleton);
+        Assert.assertNull(frozenContainer.get(UnboundSingleton.class));
+    }
+
+    @Test
+    public void testInjectSingletonIntoSingleton() {
+        beanInjector.bind(InstanceCounter.class, InstanceCounterSingleton.class);
+        beanInjector.bind(CounterContainer.class, CounterContainerSingleton.class);
+        InstanceCounterSingleton.count = 0;
+        beanInjector.perform();
+
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+    }
+
+    @Test
+    public void testInjectSingletonIntoInstantiable() {
+        beanInjector.bind(InstanceCounter.class, InstanceCounterSingleton.class);
+        beanInjector.bind(CounterContainer.class, CounterContainerImpl.class);
+        InstanceCounterSingleton.count = 0;
+        beanInjector.perform();
+
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(1, InstanceCounterSingleton.count);
+    }
+
+    @Test
+    public void testInjectInstantiableIntoSingleton() {
+        beanInjector.bind(InstanceCounter.class, InstanceCounterImpl.class);
+        beanInjector.bind(CounterContainer.class, CounterContainerSingleton.class);
+        InstanceCounterImpl.count = 0;
+        beanInjector.perform();
+
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(2, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(2, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(2, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(2, InstanceCounterImpl.count);
+    }
+
+    @Test
+    public void testInjectInstantiableIntoInstantiable() {
+        beanInjector.bind(InstanceCounter.class, InstanceCounterImpl.class);
+        beanInjector.bind(CounterContainer.class, CounterContainerImpl.class);
+        InstanceCounterImpl.count = 0;
+        beanInjector.perform();
+
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(2, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(4, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(6, InstanceCounterImpl.count);
+        beanContainer.get(CounterContainer.class);
+        Assert.assertEquals(8, InstanceCounterImpl.count);
+    }
+
+    @Test
+    public void testNamedInject() {
+        beanInjector.bind("instanceCounter", InstanceCounterImpl.class);
+        beanInjector.bind(NamedCounterContainer.class);
+        beanInjector.perform();
+
+        NamedCounterContainer bean = beanContainer.get(NamedCounterContainer.class);
+        Assert.assertTrue(bean.counter instanceof InstanceCounterImpl);
+    }
+
+    @Test
+    public void testConstructorNamedInject() {
+        beanInjector.bind("instanceCounter", InstanceCounterImpl.class);
+        beanInjector.bind(InstanceCounter.class, InstanceCounterSingleton.class);
+        beanInjector.bind(NamedCounterContainerWithConstructor.class);
+        beanInjector.perform();
+
+        NamedCounterContainerWithConstructor bean = beanContainer.get(NamedCounterContainerWithConstructor.class);
+        Assert.assertTrue(bean.defaultInstanceCounter instanceof InstanceCounterSingleton);
+        Assert.assertTrue(bean.namedInstanceCounter instanceof InstanceCounterImpl);
+    }
+
+    @Test
+    public void testIncorrectNamedInject() {
+        try {
+            beanInjector.bind("instanceCounter", InstanceCounterImpl.class);
+            beanInjector.bind(IncorrectNamedBeanContainer.class);
+            beanInjector.perform();
+
+            beanContainer.get(IncorrectNamedBeanContainer.class);
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Unable to resolve bean instanceCounter due to there is no such beans of type " +
+                    CounterContainer.class.getName() + " registered.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testListBinding() {
+        beanInjector.addBeanResolver(new BeanListResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentList.class);
+        beanInjector.perform();
+
+        TestComponentList list1 = beanContainer.get(TestComponentList.class);
+        TestComponentList list2 = beanContainer.get(TestComponentList.class);
+
+        Assert.assertEquals(2, list1.componentList.size());
+        Assert.assertEquals(2, list2.componentList.size());
+        Assert.assertTrue(list1.componentList.get(0) != list2.componentList.get(0));
+        Assert.assertTrue(list1.componentList.get(1) == list2.componentList.get(1));
+    }
+
+    @Test
+    public void testConstructorListBinding() {
+        beanInjector.addBeanResolver(new BeanListResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentListWithConstructor.class);
+        beanInjector.perform();
+
+        TestComponentListWithConstructor list = beanContainer.get(TestComponentListWithConstructor.class);
+        Assert.assertEquals(2, list.componentList.size());
+    }
+
+    @Test
+    public void testResolverSupplierReuse() {
+        CounterResolver resolver = new CounterResolver();
+        beanInjector.addBeanResolver(resolver);
+        beanInjector.bind(CounterHolder.class);
+        beanInjector.perform();
+
+        Assert.assertEquals(1, beanContainer.get(CounterHolder.class).counter.value);
+        Assert.assertEquals(2, beanContainer.get(CounterHolder.class).counter.value);
+        Assert.assertEquals(3, beanContainer.get(CounterHolder.class).counter.value);
+        Assert.assertEquals(1, resolver.suppliersCount.get());
+    }
+
+    @Test
+    public void testProviderBinding() {
+        beanInjector.addBeanResolver(new BeanProviderResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentProvider.class);
+        beanInjector.perform();
+
+        TestComponentProvider provider1 = beanContainer.get(TestComponentProvider.class);
+        TestComponentProvider provider2 = beanContainer.get(TestComponentProvider.class);
+        Assert.assertTrue(provider1.componentProvider.get() != provider2.componentProvider.get());
+    }
+
+    @Test
+    public void testProviderBindingSingleton() {
+        beanInjector.addBeanResolver(new BeanProviderResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentProvider.class);
+        beanInjector.perform();
+
+        TestComponentProvider provider1 = beanContainer.get(TestComponentProvider.class);
+        TestComponentProvider provider2 = beanContainer.get(TestComponentProvider.class);
+        Assert.assertTrue(provider1.componentProvider.get() == provider2.componentProvider.get());
+    }
+
+    @Test
+    public void testWarmUp() {
+        WarmUpDependency.count.set(0);
+        WarmUpSingleton.count.set(0);
+        beanInjector.bind(WarmUpSingleton.class);
+        beanInjector.bind(WarmUpDependency.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        WarmUpReport report = beanInjector.performWithWarmUp(ForkJoinPool.commonPool());
+
+        Assert.assertEquals(1, WarmUpDependency.count.get());
+        Assert.assertEquals(1, WarmUpSingleton.count.get());
+        Assert.assertEquals(2, report.getBeans().size());
+        Assert.assertTrue(report.getElapsedNanos() > 0);
+        WarmUpSingleton singleton = beanContainer.get(WarmUpSingleton.class);
+        Assert.assertSame(beanContainer.get(WarmUpDependency.class), singleton.dependency);
+        Assert.assertEquals(1, WarmUpDependency.count.get());
+        Assert.assertEquals(1, WarmUpSingleton.count.get());
+    }
+
+    @Test
+    public void testWarmUpFailure() {
+        beanInjector.bind(WarmUpDependency.class);
+        beanInjector.bind(FailingSingleton.class);
+        try {
+            beanInjector.performWithWarmUp(ForkJoinPool.commonPool());
+            Assert.fail();
+        } catch (InjectionException e) {
+            Assert.assertEquals("Warm-up failed for 1 bean(s), first failure in " + FailingSingleton.class.getName() +
+                    ": Error occurred during bean " + FailingSingleton.class.getName() +
+                    " instantiation: Warm-up failure.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testProviderUnboundClass() {
+        beanInjector.addBeanResolver(new BeanProviderResolver());
+        beanInjector.bind(UnboundComponentProvider.class);
+        beanInjector.perform();
+
+        UnboundComponentProvider provider = beanContainer.get(UnboundComponentProvider.class);
+        TestComponentImpl component = provider.componentProvider.get();
+        Assert.assertNotNull(component);
+        Assert.assertTrue(component != provider.componentProvider.get());
+    }
+
+    @Test
+    public void testValidation() {
+        beanInjector.bind(InstanceCounter.class, InstanceCounterImpl.class);
+        beanInjector.bind(CounterContainer.class, CounterContainerImpl.class);
+        beanInjector.bind(NamedCounterContainerWithConstructor.class);
+        beanContainer.register("instanceCounter", new InstanceCounterSingleton());
+        beanInjector.enableValidation();
+        beanInjector.perform();
+
+        CounterContainerImpl container = (CounterContainerImpl) beanContainer.get(CounterContainer.class);
+        Assert.assertTrue(container.counter1 instanceof InstanceCounterImpl);
+        Assert.assertNotSame(container.counter1, container.counter2);
+        NamedCounterContainerWithConstructor namedContainer =
+                beanContainer.get(NamedCounterContainerWithConstructor.class);
+        Assert.assertTrue(namedContainer.namedInstanceCounter instanceof InstanceCounterSingleton);
+        Assert.assertTrue(namedContainer.defaultInstanceCounter instanceof InstanceCounterImpl);
+    }
+
+    @Test
+    public void testValidationFailure() {
+        beanInjector.bind(CyclicConstructorBeanA.class);
+        beanInjector.bind(CyclicConstructorBeanB.class);
+        beanInjector.bind(CounterContainerImpl.class);
+        beanInjector.bind(NamedCounterContainer.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentHolder.class);
+        beanInjector.enableValidation();
+        try {
+            beanInjector.perform();
+            Assert.fail();
+        } catch (InjectionException e) {
+            List<String> problems = List.of(e.getMessage().split(System.lineSeparator()));
+            Assert.assertEquals("Dependency graph validation failed with 4 problem(s):", problems.get(0));
+            Assert.assertTrue(problems.contains("Unable to resolve bean " + InstanceCounter.class.getName() +
+                    " required by " + CounterContainerImpl.class.getName() +
+                    " due to there is no such bean registered."));
+            Assert.assertTrue(problems.contains("Unable to resolve bean instanceCounter required by " +
+                    NamedCounterContainer.class.getName() + " due to there is no such bean registered."));
+            Assert.assertTrue(problems.contains("Unable to resolve bean " + TestComponentInterface.class.getName() +
+                    " required by " + TestComponentHolder.class.getName() + " due to there are more than one " +
+                    "implementation registered: " + TestComponentImpl.class.getName() + ", " +
+                    TestComponentSingleton.class.getName() + "."));
+            Assert.assertTrue(problems.contains("Unable to resolve bean " + CyclicConstructorBeanA.class.getName() +
+                    " due to cyclic reference on itself in dependencies: " + CyclicConstructorBeanA.class.getName() +
+                    " -> " + CyclicConstructorBeanB.class.getName() + " -> " +
+                    CyclicConstructorBeanA.class.getName() + "."));
+        }
+    }
+
+    @Test
+    public void testNestedGenerics() {
+        beanInjector.addBeanResolver(new BeanListResolver());
+        beanInjector.addBeanResolver(new BeanProviderResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(NestedGenericComponents.class);
+        Supplier<String> stringSupplier = () -> "value";
+        Supplier<Integer> integerSupplier = () -> 1;
+        beanContainer.register(TypeKey.of(Supplier.class, TypeKey.of(String.class)), stringSupplier);
+        beanContainer.register(TypeKey.of(Supplier.class, TypeKey.of(Integer.class)), integerSupplier);
+        beanInjector.perform();
+
+        NestedGenericComponents components = beanContainer.get(NestedGenericComponents.class);
+        Assert.assertEquals(2, components.providerList.size());
+        Assert.assertTrue(components.providerList.get(0).get() instanceof TestComponentImpl);
+        Assert.assertNotSame(components.providerList.get(0).get(), components.providerList.get(0).get());
+        Assert.assertSame(components.providerList.get(1).get(), components.providerList.get(1).get());
+        Assert.assertEquals(2, components.listProvider.get().size());
+        Assert.assertSame(stringSupplier, components.stringSupplier);
+        Assert.assertSame(integerSupplier, components.integerSupplier);
+    }
+
+    @Test
+    public void testMapAndSetBinding() {
+        beanInjector.addBeanResolver(new BeanMapResolver());
+        beanInjector.addBeanResolver(new BeanSetResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentImpl.class);
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentRegistry.class);
+        beanInjector.perform();
+
+        TestComponentRegistry registry1 = beanContainer.get(TestComponentRegistry.class);
+        TestComponentRegistry registry2 = beanContainer.get(TestComponentRegistry.class);
+        Assert.assertEquals(2, registry1.componentMap.size());
+        Assert.assertTrue(registry1.componentMap.get(TestComponentImpl.class.getName()) instanceof TestComponentImpl);
+        Assert.assertNotSame(registry1.componentMap.get(TestComponentImpl.class.getName()),
+                registry2.componentMap.get(TestComponentImpl.class.getName()));
+        Assert.assertSame(registry1.componentMap.get(TestComponentSingleton.class.getName()),
+                registry2.componentMap.get(TestComponentSingleton.class.getName()));
+        Assert.assertEquals(2, registry1.componentSet.size());
+        Assert.assertTrue(registry1.componentSet.contains(
+                registry1.componentMap.get(TestComponentSingleton.class.getName())));
+    }
+
+    @Test
+    public void testAsyncBeans() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(2);
+            CompletableFuture<Void> release = new CompletableFuture<>();
+            beanContainer.registerAsync(AsyncResource.class, ctx -> CompletableFuture.supplyAsync(() -> {
+                started.countDown();
+                release.join();
+                return new AsyncResource("resource");
+            }, executor));
+            beanContainer.registerAsync("other", ctx -> CompletableFuture.supplyAsync(() -> {
+                started.countDown();
+                release.join();
+                return new AsyncResource("other");
+            }, executor));
+            beanInjector.addBeanResolver(new BeanStageResolver());
+            beanInjector.bind(AsyncConsumer.class);
+            beanInjector.perform();
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            AsyncConsumer consumer = beanContainer.get(AsyncConsumer.class);
+            Assert.assertFalse(consumer.resource.toCompletableFuture().isDone());
+            Assert.assertNotNull(consumer.component.getNow(null));
+            release.complete(null);
+            AsyncResource resource = consumer.resource.toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Assert.assertEquals("resource", resource.value);
+            Assert.assertSame(resource, beanContainer.get(AsyncResource.class));
+            Assert.assertEquals("other", beanContainer.<AsyncResource>get("other").value);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSetSnapshot() {
+        beanInjector.addBeanResolver(new BeanMapResolver());
+        beanInjector.addBeanResolver(new BeanSetResolver());
+        beanInjector.bind(TestComponentInterface.class, TestComponentSingleton.class);
+        beanInjector.bind(TestComponentRegistry.class);
+        beanInjector.perform();
+
+        TestComponentRegistry registry1 = beanContainer.get(TestComponentRegistry.class);
+        TestComponentRegistry registry2 = beanContainer.get(TestComponentRegistry.class);
+        Assert.assertEquals(1, registry1.componentSet.size());
+        Assert.assertSame(registry1.componentSet, registry2.componentSet);
+    }
+}
@@ -0,0 +1,203 @@
+package name.codemax.mininject.injector;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.resolvers.BeanProviderResolver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Maksim Osipov
+ */
+public class SnapshotConfigurationTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private interface Greeter {
+        String greet();
+    }
+
+    private static class Counter {
+    }
+
+    @Singleton
+    private static class GreeterImpl implements Greeter {
+        private final String greeting;
+        private final Counter counter;
+        @Inject
+        @Named("suffix")
+        private String suffix;
+        private Counter initCounter;
+
+        @Inject
+        public GreeterImpl(@Named("greeting") String greeting, Counter counter) {
+            this.greeting = greeting;
+            this.counter = counter;
+        }
+
+        @Inject
+        public void init(Counter counter) {
+            initCounter = counter;
+        }
+
+        @Override
+        public String greet() {
+            return greeting + suffix;
+        }
+    }
+
+    private int configured;
+    private Path snapshotFile;
+
+    @Before
+    public void setUp() throws Exception {
+        configured = 0;
+        snapshotFile = folder.getRoot().toPath().resolve("snapshot").resolve("plans.bin");
+    }
+
+    private Greeter configure() {
+        ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+        beanContainer.register("greeting", "Hello");
+        beanContainer.register("suffix", "!");
+        BeanInjector beanInjector = new BeanInjector(beanContainer);
+        new SnapshotConfiguration(snapshotFile, injector -> {
+            ++configured;
+            injector.bind(Greeter.class, GreeterImpl.class);
+            injector.bind(Counter.class);
+        }).configure(beanInjector);
+        beanInjector.perform();
+
+        Greeter greeter = beanContainer.get(Greeter.class);
+        Assert.assertSame(greeter, beanContainer.get(Greeter.class));
+        Assert.assertEquals("Hello!", greeter.greet());
+        Assert.assertNotNull(((GreeterImpl) greeter).counter);
+        Assert.assertNotNull(((GreeterImpl) greeter).initCounter);
+        Assert.assertNotSame(((GreeterImpl) greeter).counter, ((GreeterImpl) greeter).initCounter);
+        return greeter;
+    }
+
+    @Test
+    public void testSnapshot() {
+        configure();
+        Assert.assertEquals(1, configured);
+        Assert.assertTrue(Files.isRegularFile(snapshotFile));
+
+        configure();
+        Assert.assertEquals(1, configured);
+    }
+
+    @Test
+    public void testStaleSnapshot() throws Exception {
+        configure();
+        byte[] content = Files.readAllBytes(snapshotFile);
+        long checksum = PlanSnapshot.getChecksum(GreeterImpl.class.getName(), GreeterImpl.class.getClassLoader());
+        byte[] checksumBytes = ByteBuffer.allocate(Long.BYTES).putLong(checksum).array();
+        int offset = indexOf(content, checksumBytes);
+        Assert.assertTrue(offset > 0);
+        content[offset + Long.BYTES - 1] ^= 1;
+        Files.write(snapshotFile, content);
+
+        configure();
+        Assert.assertEquals(2, configured);
+        configure();
+        Assert.assertEquals(2, configured);
+    }
+
+    @Test
+    public void testMalformedSnapshot() throws Exception {
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        configure();
+        Assert.assertEquals(1, configured);
+        configure();
+        Assert.assertEquals(1, configured);
+    }
+
+    @Test
+    public void testBindingAddedAfterSnapshot() throws Exception {
+        Path index = folder.newFolder("index").toPath();
+        Path indexFile = index.resolve(IndexConfiguration.INDEX_FILE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, Collections.singletonList(Counter.class.getName() + "\t\t"), StandardCharsets.UTF_8);
+        ClassLoader classLoader = new URLClassLoader(new URL[]{index.toUri().toURL()}, getClass().getClassLoader());
+
+        Assert.assertNull(configureIndexed(classLoader).get(Greeter.class));
+        Assert.assertEquals(1, configured);
+        Assert.assertTrue(Files.isRegularFile(snapshotFile));
+        Assert.assertNull(configureIndexed(classLoader).get(Greeter.class));
+        Assert.assertEquals(1, configured);
+
+        Files.write(indexFile, Arrays.asList(Counter.class.getName() + "\t\t",
+                GreeterImpl.class.getName() + "\t\t" + Greeter.class.getName()), StandardCharsets.UTF_8);
+        Assert.assertEquals("Hello!", configureIndexed(classLoader).get(Greeter.class).greet());
+        Assert.assertEquals(2, configured);
+        Assert.assertEquals("Hello!", configureIndexed(classLoader).get(Greeter.class).greet());
+        Assert.assertEquals(2, configured);
+    }
+
+    private ConfigurableBeanContainer configureIndexed(ClassLoader classLoader) {
+        ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+        beanContainer.register("greeting", "Hello");
+        beanContainer.register("suffix", "!");
+        BeanInjector beanInjector = new BeanInjector(beanContainer);
+        new SnapshotConfiguration(snapshotFile, classLoader, injector -> {
+            ++configured;
+            new IndexConfiguration(classLoader).configure(injector);
+        }).configure(beanInjector);
+        beanInjector.perform();
+        return beanContainer;
+    }
+
+    @Test
+    public void testSideEffectsNotSnapshotted() {
+        for (int i = 1; i <= 2; ++i) {
+            ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+            BeanInjector beanInjector = new BeanInjector(beanContainer);
+            new SnapshotConfiguration(snapshotFile, injector -> {
+                ++configured;
+                injector.bind(Counter.class);
+                beanContainer.register("greeting", "Hello");
+            }).configure(beanInjector);
+            beanInjector.perform();
+            Assert.assertEquals("Hello", beanContainer.get("greeting"));
+            Assert.assertEquals(i, configured);
+            Assert.assertFalse(Files.exists(snapshotFile));
+        }
+
+        Path resolverSnapshotFile = snapshotFile.resolveSibling("resolver.bin");
+        for (int i = 3; i <= 4; ++i) {
+            BeanInjector beanInjector = new BeanInjector(new BeanContainerImpl());
+            new SnapshotConfiguration(resolverSnapshotFile, injector -> {
+                ++configured;
+                injector.bind(Counter.class);
+                injector.addBeanResolver(new BeanProviderResolver());
+            }).configure(beanInjector);
+            Assert.assertEquals(i, configured);
+            Assert.assertFalse(Files.exists(resolverSnapshotFile));
+        }
+    }
+
+    private static int indexOf(byte[] content, byte[] value) {
+        for (int i = 0; i + value.length <= content.length; ++i) {
+            if (Arrays.equals(content, i, i + value.length, value, 0, value.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
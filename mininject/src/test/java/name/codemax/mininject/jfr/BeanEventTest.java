@@ -0,0 +1,82 @@
+package name.codemax.mininject.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.injector.BeanInjector;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Maksim Osipov
+ */
+public class BeanEventTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Singleton
+    private static class SingletonBean {
+    }
+
+    private static class PrototypeBean {
+        @Inject
+        private SingletonBean singleton;
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        Path file = folder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"ResolveBean", "CreateBean", "InitializeBean", "LazyInitialization",
+                    "DeferredInjection"}) {
+                recording.enable("name.codemax.mininject." + name).withoutThreshold();
+            }
+            Assert.assertFalse(CreateBeanEvent.isTypeEnabled());
+            recording.start();
+            Assert.assertTrue(CreateBeanEvent.isTypeEnabled());
+            ConfigurableBeanContainer beanContainer = new BeanContainerImpl();
+            BeanInjector beanInjector = new BeanInjector(beanContainer);
+            beanInjector.bind(SingletonBean.class);
+            beanInjector.bind(PrototypeBean.class);
+            beanInjector.perform();
+            beanContainer.get(PrototypeBean.class);
+            beanContainer.get(PrototypeBean.class);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> resolutions = filter(events, "ResolveBean", SingletonBean.class);
+        Assert.assertEquals(2, resolutions.size());
+        Assert.assertFalse(resolutions.get(0).getBoolean("cacheHit"));
+        Assert.assertTrue(resolutions.get(1).getBoolean("cacheHit"));
+        Assert.assertEquals(1, resolutions.get(1).getInt("depth"));
+        Assert.assertEquals(SingletonBean.class.getName(), resolutions.get(1).getString("beanName"));
+
+        Assert.assertEquals(1, filter(events, "CreateBean", SingletonBean.class).size());
+        Assert.assertEquals(2, filter(events, "CreateBean", PrototypeBean.class).size());
+        Assert.assertEquals(2, filter(events, "InitializeBean", PrototypeBean.class).size());
+        Assert.assertEquals(1, filter(events, "LazyInitialization", SingletonBean.class).size());
+        Assert.assertEquals(1, events.stream()
+                .filter(e -> e.getEventType().getName().equals("name.codemax.mininject.DeferredInjection"))
+                .count());
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name, Class<?> beanClass) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals("name.codemax.mininject." + name))
+                .filter(e -> beanClass.getName().equals(e.getClass("beanClass").getName()))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
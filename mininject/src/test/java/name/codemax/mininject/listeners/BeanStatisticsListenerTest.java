@@ -0,0 +1,107 @@
+package name.codemax.mininject.listeners;
+
+import name.codemax.mininject.container.ConfigurableBeanContainer;
+import name.codemax.mininject.container.impl.BeanContainerImpl;
+import name.codemax.mininject.injector.BeanInjector;
+import name.codemax.mininject.resolvers.BeanProviderResolver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Maksim Osipov
+ */
+public class BeanStatisticsListenerTest {
+    private ConfigurableBeanContainer beanContainer;
+    private BeanInjector beanInjector;
+    private BeanStatisticsListener listener;
+
+    @Singleton
+    private static class SingletonBean {
+    }
+
+    private static class PrototypeBean {
+        @Inject
+        private SingletonBean singleton;
+
+        @Inject
+        private Provider<SingletonBean> provider;
+    }
+
+    @Before
+    public void setUp() {
+        beanContainer = new BeanContainerImpl();
+        beanInjector = new BeanInjector(beanContainer);
+        beanInjector.addBeanResolver(new BeanProviderResolver());
+        listener = new BeanStatisticsListener();
+        beanInjector.addLifecycleListener(listener);
+        beanInjector.bind(SingletonBean.class);
+        beanInjector.bind(PrototypeBean.class);
+        beanInjector.perform();
+    }
+
+    @Test
+    public void testStatistics() {
+        for (int i = 0; i < 3; ++i) {
+            beanContainer.get(PrototypeBean.class);
+        }
+
+        BeanStatistics prototype = listener.getStatistics(PrototypeBean.class);
+        Assert.assertEquals(3, prototype.getConstruction().getCount());
+        Assert.assertEquals(3, prototype.getInjection().getCount());
+        Assert.assertEquals(0, prototype.getLazyInitialization().getCount());
+
+        BeanStatistics singleton = listener.getStatistics(SingletonBean.class);
+        Assert.assertEquals(1, singleton.getConstruction().getCount());
+        Assert.assertEquals(1, singleton.getLazyInitialization().getCount());
+
+        Assert.assertEquals(3, listener.getStatistics(Provider.class).getResolverHits());
+        Assert.assertEquals(3, listener.getStatistics().size());
+    }
+
+    @Test
+    public void testListenersOrder() {
+        List<String> events = new ArrayList<>();
+        beanInjector.addLifecycleListener(new BeanLifecycleListener() {
+            @Override
+            public void beforeConstruction(Class<?> beanClass) {
+                events.add("before " + beanClass.getSimpleName());
+            }
+
+            @Override
+            public void afterConstruction(Class<?> beanClass, Object bean, long durationNanos) {
+                events.add("after " + beanClass.getSimpleName());
+            }
+
+            @Override
+            public void afterInjection(Object bean, long durationNanos) {
+                events.add("injected " + bean.getClass().getSimpleName());
+            }
+        });
+        beanContainer.get(PrototypeBean.class);
+        Assert.assertEquals(List.of("before PrototypeBean", "after PrototypeBean", "before SingletonBean",
+                "after SingletonBean", "injected SingletonBean", "injected PrototypeBean"), events);
+        Assert.assertEquals(1, listener.getStatistics(PrototypeBean.class).getConstruction().getCount());
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(1000);
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals(1003, histogram.getTotalNanos());
+        Assert.assertEquals(1000, histogram.getMaxNanos());
+        Assert.assertEquals(1, histogram.getBuckets()[2]);
+        Assert.assertEquals(1, histogram.getPercentileUpperBound(0));
+        Assert.assertEquals(4, histogram.getPercentileUpperBound(50));
+        Assert.assertEquals(1024, histogram.getPercentileUpperBound(100));
+    }
+}
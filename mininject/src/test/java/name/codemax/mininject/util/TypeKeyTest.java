@@ -0,0 +1,121 @@
+package name.codemax.mininject.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Maksim Osipov
+ */
+public class TypeKeyTest {
+    private List<Provider<String>> providerList;
+    private Map<String, ? extends Number> wildcardMap;
+
+    public static class Payload {
+    }
+
+    /**
+     * Loads its own copy of {@link Payload}, delegating other classes to parent.
+     */
+    private static class PayloadClassLoader extends ClassLoader {
+        PayloadClassLoader() {
+            super(TypeKeyTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!Payload.class.getName().equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (null != type) {
+                    return type;
+                }
+                try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = stream.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInterning() throws Exception {
+        TypeKey key = TypeKey.of(TypeKeyTest.class.getDeclaredField("providerList").getGenericType());
+        Assert.assertSame(key, TypeKey.of(List.class, TypeKey.of(Provider.class, TypeKey.of(String.class))));
+        Assert.assertSame(key, TypeKey.of(TypeUtils.parameterize(List.class,
+                TypeUtils.parameterize(Provider.class, String.class))));
+        Assert.assertSame(TypeKey.of(String.class), TypeKey.of((Type) String.class));
+        Assert.assertNotSame(key, TypeKey.of(List.class, TypeKey.of(String.class)));
+        Assert.assertSame(List.class, key.getRawClass());
+        Assert.assertSame(TypeKey.of(String.class), key.getArgument(0).getArgument(0));
+        Assert.assertEquals("java.util.List<javax.inject.Provider<java.lang.String>>", key.getName());
+        Assert.assertSame(key, TypeKey.of(key.getType()));
+    }
+
+    @Test
+    public void testClassLoaderNotPinned() throws Exception {
+        WeakReference<ClassLoader> loader = internPayloadKey();
+        for (int i = 0; i < 20 && null != loader.get(); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> internPayloadKey() throws Exception {
+        ClassLoader loader = new PayloadClassLoader();
+        Class<?> payload = loader.loadClass(Payload.class.getName());
+        Assert.assertNotSame(Payload.class, payload);
+        TypeKey key = TypeKey.of(List.class, TypeKey.of(payload));
+        Assert.assertSame(key, TypeKey.of(List.class, TypeKey.of(payload)));
+        Assert.assertEquals("java.util.List<" + Payload.class.getName() + '>', key.getName());
+        return new WeakReference<>(loader);
+    }
+
+    @Test
+    public void testUnrelatedClassLoadersNotPinned() throws Exception {
+        ClassLoader first = new PayloadClassLoader();
+        Class<?> firstPayload = first.loadClass(Payload.class.getName());
+        WeakReference<ClassLoader> second = internUnrelatedKey(firstPayload);
+        for (int i = 0; i < 20 && null != second.get(); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(second.get());
+        Assert.assertSame(first, firstPayload.getClassLoader());
+    }
+
+    private static WeakReference<ClassLoader> internUnrelatedKey(Class<?> firstPayload) throws Exception {
+        ClassLoader second = new PayloadClassLoader();
+        TypeKey firstKey = TypeKey.of(firstPayload);
+        TypeKey secondKey = TypeKey.of(second.loadClass(Payload.class.getName()));
+        TypeKey key = TypeKey.of(Map.class, firstKey, secondKey);
+        TypeKey other = TypeKey.of(Map.class, firstKey, secondKey);
+        Assert.assertEquals(key, other);
+        Assert.assertEquals(key.hashCode(), other.hashCode());
+        Assert.assertEquals(TypeKey.of(List.class, key), TypeKey.of(List.class, other));
+        Assert.assertNotEquals(key, TypeKey.of(Map.class, secondKey, firstKey));
+        Assert.assertEquals("java.util.Map<" + Payload.class.getName() + ", " + Payload.class.getName() + '>',
+                key.getName());
+        return new WeakReference<>(second);
+    }
+
+    @Test
+    public void testWildcard() throws Exception {
+        TypeKey key = TypeKey.of(TypeKeyTest.class.getDeclaredField("wildcardMap").getGenericType());
+        Assert.assertEquals("java.util.Map<java.lang.String, java.lang.Number>", key.getName());
+        Assert.assertFalse(TypeKey.of(String.class).isParameterized());
+        Assert.assertEquals(String.class.getName(), TypeKey.of(String.class).getName());
+    }
+}